@@ -1,8 +1,11 @@
 package com.gabrielrq.database_converter.config;
 
+import com.gabrielrq.database_converter.enums.ExecutorMode;
 import com.gabrielrq.database_converter.util.migration.MigrationTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -14,7 +17,16 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
 
     @Bean(name = "asyncEtlExecutor")
-    public Executor asyncEtlExecutor() {
+    public Executor asyncEtlExecutor(@Value("${migration.executor.mode:PLATFORM}") ExecutorMode mode) {
+        /* Etapas passam quase todo o tempo esperando o JDBC: com threads virtuais não há teto de threads,
+           e a concorrência real fica limitada pelas permissões de conexão da extração */
+        if (mode == ExecutorMode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-migration-etl-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(new MigrationTaskDecorator());
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         executor.setCorePoolSize(Runtime.getRuntime().availableProcessors());
@@ -59,6 +59,19 @@ public class MigrationController {
         return ResponseEntity.accepted().build();
     }
 
+    @Operation(summary = "Retoma a extração", description = "Retoma uma extração que falhou, pulando as tabelas e segmentos já concluídos segundo os manifestos gravados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Processo de extração retomado"),
+            @ApiResponse(responseCode = "400", description = "Migração não encontrada", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "422", description = "Estado inválido para retomada (ex: extração não falhou)", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/{id}/extract/resume")
+    public ResponseEntity<Void> resumeExtraction(@PathVariable UUID id) {
+        etlService.resumeExtraction(id);
+        return ResponseEntity.accepted().build();
+    }
+
     @Operation(summary = "Inicia a transformação", description = "Converte os tipos de dados e gera os scripts DDL/DML para o banco de destino.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "202", description = "Processo de transformação iniciado"),
@@ -98,6 +111,19 @@ public class MigrationController {
         return ResponseEntity.accepted().build();
     }
 
+    @Operation(summary = "Inicia a sincronização incremental", description = "Extrai apenas as linhas alteradas desde a última execução, pelas colunas de marca d'água configuradas, e as aplica no destino como upserts.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Processo de sincronização iniciado"),
+            @ApiResponse(responseCode = "400", description = "Migração não encontrada", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "422", description = "Estado inválido para sincronização (ex: carga completa pendente)", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/{id}/sync")
+    public ResponseEntity<Void> startSync(@PathVariable UUID id) {
+        etlService.startSync(id);
+        return ResponseEntity.accepted().build();
+    }
+
     @Operation(summary = "Obter status", description = "Retorna o estado atual e metadados da migração.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Status retornado com sucesso"),
@@ -1,11 +1,21 @@
 package com.gabrielrq.database_converter.domain;
 
 import java.util.List;
+import java.util.Map;
 
 public record DatabaseDefinition(
         String name,
         String schema,
         List<TableDefinition> tables,
-        String characterSet
+        String characterSet,
+        Map<String, TableStatistics> statistics
 ) {
+
+    public DatabaseDefinition {
+        statistics = statistics != null ? statistics : Map.of();
+    }
+
+    public DatabaseDefinition(String name, String schema, List<TableDefinition> tables, String characterSet) {
+        this(name, schema, tables, characterSet, Map.of());
+    }
 }
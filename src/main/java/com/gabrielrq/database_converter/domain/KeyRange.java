@@ -0,0 +1,8 @@
+package com.gabrielrq.database_converter.domain;
+
+public record KeyRange(
+        int index,
+        long lowerBound,
+        long upperBound
+) {
+}
@@ -1,8 +1,10 @@
 package com.gabrielrq.database_converter.domain;
 
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
+import com.gabrielrq.database_converter.dto.TableExtractionSpecDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public class MigrationStatusMetadata {
     private String target;
@@ -10,6 +12,8 @@ public class MigrationStatusMetadata {
     private List<TableDefinition> executionOrder;
     private DbConnectionConfigDTO originConfig;
     private DbConnectionConfigDTO targetConfig;
+    private Map<String, TableExtractionSpecDTO> tableSpecs = Map.of();
+    private Map<String, String> failedTables = Map.of();
 
     public MigrationStatusMetadata(String target, DatabaseDefinition databaseMetadata, List<TableDefinition> executionOrder, DbConnectionConfigDTO originConfig, DbConnectionConfigDTO targetConfig) {
         this.target = target;
@@ -19,6 +23,11 @@ public class MigrationStatusMetadata {
         this.targetConfig = targetConfig;
     }
 
+    public MigrationStatusMetadata(String target, DatabaseDefinition databaseMetadata, List<TableDefinition> executionOrder, DbConnectionConfigDTO originConfig, DbConnectionConfigDTO targetConfig, Map<String, TableExtractionSpecDTO> tableSpecs) {
+        this(target, databaseMetadata, executionOrder, originConfig, targetConfig);
+        setTableSpecs(tableSpecs);
+    }
+
     public MigrationStatusMetadata() {
     }
 
@@ -62,4 +71,20 @@ public class MigrationStatusMetadata {
     public void setTargetConfig(DbConnectionConfigDTO targetConfig) {
         this.targetConfig = targetConfig;
     }
+
+    public Map<String, TableExtractionSpecDTO> getTableSpecs() {
+        return tableSpecs;
+    }
+
+    public void setTableSpecs(Map<String, TableExtractionSpecDTO> tableSpecs) {
+        this.tableSpecs = tableSpecs != null ? tableSpecs : Map.of();
+    }
+
+    public Map<String, String> getFailedTables() {
+        return failedTables;
+    }
+
+    public void setFailedTables(Map<String, String> failedTables) {
+        this.failedTables = failedTables != null ? failedTables : Map.of();
+    }
 }
@@ -0,0 +1,11 @@
+package com.gabrielrq.database_converter.domain;
+
+/* Totais de um arquivo de dados gravado; checksum é o CRC32 dos bytes antes da compressão */
+public record SpillResult(
+        long rowCount,
+        long byteCount,
+        long checksum
+) {
+
+    public static final SpillResult EMPTY = new SpillResult(0, 0, 0);
+}
@@ -0,0 +1,32 @@
+package com.gabrielrq.database_converter.domain;
+
+import java.time.LocalDateTime;
+
+/*
+ * Registro de conclusão de uma tabela (segment == null) ou de um segmento de tabela dividida por chave.
+ * Para segmentos, lastKey é o limite superior da faixa extraída; watermark só é preenchido no manifesto da tabela.
+ */
+public record TableManifest(
+        String table,
+        Integer segment,
+        Long lastKey,
+        long rowCount,
+        long byteCount,
+        String checksum,
+        Object watermark,
+        String completedAt
+) {
+
+    public static TableManifest of(String table, Integer segment, Long lastKey, SpillResult result, Object watermark) {
+        return new TableManifest(
+                table,
+                segment,
+                lastKey,
+                result.rowCount(),
+                result.byteCount(),
+                "%08x".formatted(result.checksum()),
+                watermark,
+                LocalDateTime.now().toString()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.gabrielrq.database_converter.domain;
+
+/* Estimativas baratas lidas das estatísticas do SGBD; 0 indica estimativa indisponível */
+public record TableStatistics(
+        long estimatedRows,
+        long estimatedBytes
+) {
+
+    public static final TableStatistics UNKNOWN = new TableStatistics(0, 0);
+
+    public long cost() {
+        return estimatedBytes > 0 ? estimatedBytes : estimatedRows;
+    }
+}
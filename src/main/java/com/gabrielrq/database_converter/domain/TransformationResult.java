@@ -1,9 +1,16 @@
 package com.gabrielrq.database_converter.domain;
 
 import java.util.List;
+import java.util.Map;
 
+/* failedTables: tabelas cuja geração de SQL falhou, com o detalhe da falha; ficam sem DDL/DML e não são carregadas */
 public record TransformationResult(
         DatabaseDefinition metadata,
-        List<TableDefinition> executionList
+        List<TableDefinition> executionList,
+        Map<String, String> failedTables
 ) {
+
+    public TransformationResult(DatabaseDefinition metadata, List<TableDefinition> executionList) {
+        this(metadata, executionList, Map.of());
+    }
 }
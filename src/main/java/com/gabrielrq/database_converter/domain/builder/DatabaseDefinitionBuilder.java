@@ -2,15 +2,18 @@ package com.gabrielrq.database_converter.domain.builder;
 
 import com.gabrielrq.database_converter.domain.DatabaseDefinition;
 import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.domain.TableStatistics;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class DatabaseDefinitionBuilder {
     private String name;
     private String schema;
     private List<TableDefinition> tables = new ArrayList<>();
     private String characterSet;
+    private Map<String, TableStatistics> statistics = Map.of();
 
     public DatabaseDefinitionBuilder setName(String name) {
         this.name = name;
@@ -32,6 +35,11 @@ public class DatabaseDefinitionBuilder {
         return this;
     }
 
+    public DatabaseDefinitionBuilder setStatistics(Map<String, TableStatistics> statistics) {
+        this.statistics = statistics;
+        return this;
+    }
+
     public DatabaseDefinitionBuilder addTable(TableDefinition table) {
         this.tables.add(table);
         return this;
@@ -42,10 +50,11 @@ public class DatabaseDefinitionBuilder {
                 .setName(database.name())
                 .setSchema(database.schema())
                 .setTables(database.tables())
-                .setCharacterSet(database.characterSet());
+                .setCharacterSet(database.characterSet())
+                .setStatistics(database.statistics());
     }
 
     public DatabaseDefinition build() {
-        return new DatabaseDefinition(name, schema, tables, characterSet);
+        return new DatabaseDefinition(name, schema, tables, characterSet, statistics);
     }
 }
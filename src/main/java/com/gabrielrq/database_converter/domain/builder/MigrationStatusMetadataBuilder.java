@@ -4,8 +4,10 @@ import com.gabrielrq.database_converter.domain.DatabaseDefinition;
 import com.gabrielrq.database_converter.domain.MigrationStatusMetadata;
 import com.gabrielrq.database_converter.domain.TableDefinition;
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
+import com.gabrielrq.database_converter.dto.TableExtractionSpecDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public class MigrationStatusMetadataBuilder {
     private String target;
@@ -13,7 +15,7 @@ public class MigrationStatusMetadataBuilder {
     private List<TableDefinition> executionOrder;
     private DbConnectionConfigDTO originConfig;
     private DbConnectionConfigDTO targetConfig;
-
+    private Map<String, TableExtractionSpecDTO> tableSpecs;
 
     public MigrationStatusMetadataBuilder setTarget(String target) {
         this.target = target;
@@ -40,7 +42,12 @@ public class MigrationStatusMetadataBuilder {
         return this;
     }
 
+    public MigrationStatusMetadataBuilder setTableSpecs(Map<String, TableExtractionSpecDTO> tableSpecs) {
+        this.tableSpecs = tableSpecs;
+        return this;
+    }
+
     public MigrationStatusMetadata build() {
-        return new MigrationStatusMetadata(target, databaseMetadata, executionOrder, originConfig, targetConfig);
+        return new MigrationStatusMetadata(target, databaseMetadata, executionOrder, originConfig, targetConfig, tableSpecs);
     }
 }
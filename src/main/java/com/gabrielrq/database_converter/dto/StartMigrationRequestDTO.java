@@ -2,6 +2,8 @@ package com.gabrielrq.database_converter.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.Map;
+
 public record StartMigrationRequestDTO(
         @Schema(description = "Nome identificador da migração", example = "migration-test")
         String name,
@@ -10,7 +12,12 @@ public record StartMigrationRequestDTO(
         @Schema(description = "Configurações de conexão da origem")
         DbConnectionConfigDTO originConfig,
         @Schema(description = "Configurações de conexão do destino")
-        DbConnectionConfigDTO targetConfig
+        DbConnectionConfigDTO targetConfig,
+        @Schema(description = "Configurações opcionais de extração por tabela, indexadas pelo nome da tabela")
+        Map<String, TableExtractionSpecDTO> tables
 ) {
 
+    public StartMigrationRequestDTO(String name, String target, DbConnectionConfigDTO originConfig, DbConnectionConfigDTO targetConfig) {
+        this(name, target, originConfig, targetConfig, Map.of());
+    }
 }
@@ -0,0 +1,19 @@
+package com.gabrielrq.database_converter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record TableExtractionSpecDTO(
+        @Schema(description = "Coluna crescente usada na sincronização incremental (timestamp de alteração ou id sequencial)", example = "updated_at")
+        String watermarkColumn,
+        @Schema(description = "Colunas migradas (vazio para todas). Chaves, restrições únicas e a marca d'água são sempre mantidas", example = "[\"id\", \"name\", \"updated_at\"]")
+        List<String> columns,
+        @Schema(description = "Predicado SQL da origem que filtra as linhas migradas", example = "deleted_at IS NULL")
+        String where
+) {
+
+    public TableExtractionSpecDTO(String watermarkColumn) {
+        this(watermarkColumn, List.of(), null);
+    }
+}
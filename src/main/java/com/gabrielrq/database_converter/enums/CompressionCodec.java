@@ -0,0 +1,16 @@
+package com.gabrielrq.database_converter.enums;
+
+public enum CompressionCodec {
+    NONE(""),
+    GZIP(".gz");
+
+    private final String extension;
+
+    CompressionCodec(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
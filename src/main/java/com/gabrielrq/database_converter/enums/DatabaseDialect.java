@@ -0,0 +1,24 @@
+package com.gabrielrq.database_converter.enums;
+
+import java.util.Locale;
+
+public enum DatabaseDialect {
+    POSTGRES,
+    FIREBIRD,
+    GENERIC;
+
+    public static DatabaseDialect fromProductName(String productName) {
+        if (productName == null) {
+            return GENERIC;
+        }
+
+        String name = productName.toLowerCase(Locale.ROOT);
+        if (name.contains("postgres")) {
+            return POSTGRES;
+        }
+        if (name.contains("firebird")) {
+            return FIREBIRD;
+        }
+        return GENERIC;
+    }
+}
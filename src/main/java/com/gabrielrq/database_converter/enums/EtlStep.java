@@ -11,5 +11,7 @@ public enum EtlStep {
     LOAD_FINISHED,
     VALIDATION_IN_PROGRESS,
     FINISHED,
+    SYNC_IN_PROGRESS,
+    SYNC_FINISHED,
     ERROR
 }
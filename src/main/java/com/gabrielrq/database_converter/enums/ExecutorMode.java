@@ -0,0 +1,6 @@
+package com.gabrielrq.database_converter.enums;
+
+public enum ExecutorMode {
+    PLATFORM,
+    VIRTUAL
+}
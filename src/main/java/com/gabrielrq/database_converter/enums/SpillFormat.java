@@ -0,0 +1,16 @@
+package com.gabrielrq.database_converter.enums;
+
+public enum SpillFormat {
+    JSON(".json"),
+    BINARY(".bin");
+
+    private final String extension;
+
+    SpillFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
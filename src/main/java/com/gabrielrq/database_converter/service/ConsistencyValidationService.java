@@ -4,8 +4,10 @@ import com.gabrielrq.database_converter.domain.DatabaseDefinition;
 import com.gabrielrq.database_converter.domain.TableDefinition;
 import com.gabrielrq.database_converter.dto.ConsistencyValidationDataDTO;
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
+import com.gabrielrq.database_converter.dto.TableExtractionSpecDTO;
 import com.gabrielrq.database_converter.exception.ConsistencyValidationException;
 import com.gabrielrq.database_converter.service.etl.DataExtractionService;
+import com.gabrielrq.database_converter.util.TableProjection;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
@@ -28,7 +30,8 @@ public class ConsistencyValidationService {
         this.extractionService = extractionService;
     }
 
-    private List<String> compareStructure(DatabaseDefinition originMetadata, DatabaseDefinition targetMetadata) {
+    /* Colunas fora da projeção da extração não são migradas e não contam como falha estrutural */
+    private List<String> compareStructure(DatabaseDefinition originMetadata, DatabaseDefinition targetMetadata, Map<String, TableExtractionSpecDTO> specs) {
         List<String> messages = new ArrayList<>();
         Map<String, TableDefinition> targetTableMap = targetMetadata.tables()
                 .stream().collect(Collectors.toMap(t -> t.name().toLowerCase(), Function.identity()));
@@ -40,7 +43,7 @@ public class ConsistencyValidationService {
             }
 
             var targetTable = targetTableMap.get(table.name().toLowerCase());
-            for (var column : table.columns()) {
+            for (var column : TableProjection.project(table, TableProjection.findSpec(specs, table.name())).columns()) {
                 if (!targetTable.columns().contains(column)) {
                     messages.add("Falha estrutural: coluna '%s.%s' não encontrada na base de dados destino.".formatted(table.name(), column.name()));
                 }
@@ -54,7 +57,8 @@ public class ConsistencyValidationService {
             DatabaseDefinition originMetadata,
             DatabaseDefinition targetMetadata,
             JdbcTemplate originTemplate,
-            JdbcTemplate targetTemplate
+            JdbcTemplate targetTemplate,
+            Map<String, TableExtractionSpecDTO> specs
     ) {
         List<String> messages = new ArrayList<>();
         Map<String, TableDefinition> targetTableMap = targetMetadata.tables()
@@ -67,7 +71,10 @@ public class ConsistencyValidationService {
 
             try {
                 var targetTable = targetTableMap.get(table.name().toLowerCase());
-                Long originRowCount = originTemplate.queryForObject("SELECT COUNT(*) FROM " + table.name(), Long.class);
+                // Na origem, conta só as linhas que passam pelo filtro da extração
+                TableExtractionSpecDTO spec = TableProjection.findSpec(specs, table.name());
+                String filter = spec != null && spec.where() != null && !spec.where().isBlank() ? " WHERE (" + spec.where() + ")" : "";
+                Long originRowCount = originTemplate.queryForObject("SELECT COUNT(*) FROM " + table.name() + filter, Long.class);
                 Long targetRowCount = targetTemplate.queryForObject("SELECT COUNT(*) FROM " + targetTable.name(), Long.class);
 
                 if (!Objects.equals(originRowCount, targetRowCount)) {
@@ -83,19 +90,24 @@ public class ConsistencyValidationService {
 
 
     public ConsistencyValidationDataDTO validate(String identifier, DbConnectionConfigDTO originConfig, DbConnectionConfigDTO targetConfig) {
+        return validate(identifier, originConfig, targetConfig, Map.of());
+    }
+
+    public ConsistencyValidationDataDTO validate(String identifier, DbConnectionConfigDTO originConfig, DbConnectionConfigDTO targetConfig, Map<String, TableExtractionSpecDTO> specs) {
         try (
                 Connection originConnection = DatabaseConnectionService.createConnection(originConfig);
                 Connection targetConnection = DatabaseConnectionService.createConnection(targetConfig)
         ) {
-            var originMetadata = extractionService.parseMetadata(identifier, originConnection);
-            var targetMetadata = extractionService.parseMetadata(identifier, targetConnection);
+            var originMetadata = extractionService.parseMetadata(identifier, originConnection, originConfig);
+            var targetMetadata = extractionService.parseMetadata(identifier, targetConnection, targetConfig);
 
-            var structuralValidationMessages = compareStructure(originMetadata, targetMetadata);
+            var structuralValidationMessages = compareStructure(originMetadata, targetMetadata, specs);
             var volumetricValidationMessages = compareRowCounts(
                     originMetadata,
                     targetMetadata,
                     DatabaseConnectionService.createJdbcTemplate(originConfig),
-                    DatabaseConnectionService.createJdbcTemplate(targetConfig)
+                    DatabaseConnectionService.createJdbcTemplate(targetConfig),
+                    specs
             );
 
             return new ConsistencyValidationDataDTO(
@@ -0,0 +1,142 @@
+package com.gabrielrq.database_converter.service;
+
+import com.gabrielrq.database_converter.enums.CompressionCodec;
+import com.gabrielrq.database_converter.util.io.CountingOutputStream;
+import com.gabrielrq.database_converter.util.io.DirectBufferPool;
+import com.gabrielrq.database_converter.util.io.DoubleBufferedFileOutputStream;
+import com.gabrielrq.database_converter.util.io.ParallelGzipOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+
+@Service
+public class DataFileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataFileService.class);
+
+    @Value("${migration.compression.codec:NONE}")
+    private CompressionCodec codec = CompressionCodec.NONE;
+    @Value("${migration.compression.blockSize:1048576}")
+    private int blockSize = 1024 * 1024;
+    @Value("${migration.io.writer.doubleBuffered:true}")
+    private boolean doubleBuffered = true;
+    @Value("${migration.io.writer.bufferSize:1048576}")
+    private int writeBufferSize = 1024 * 1024;
+    @Value("${migration.io.writer.maxBuffers:32}")
+    private int maxWriteBuffers = 32;
+
+    /* Buffers diretos compartilhados por todas as threads que gravam arquivos de dados */
+    private volatile DirectBufferPool bufferPool;
+
+    public CompressionCodec getCodec() {
+        return codec;
+    }
+
+    public Path resolveExisting(Path file) {
+        for (CompressionCodec candidate : CompressionCodec.values()) {
+            Path path = Path.of(file + candidate.extension());
+            if (Files.exists(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    public Path stripCompression(Path file) {
+        String name = file.toString();
+        for (CompressionCodec candidate : CompressionCodec.values()) {
+            if (candidate != CompressionCodec.NONE && name.endsWith(candidate.extension())) {
+                return Path.of(name.substring(0, name.length() - candidate.extension().length()));
+            }
+        }
+        return file;
+    }
+
+    public boolean exists(Path file) {
+        return resolveExisting(file) != null;
+    }
+
+    public OutputStream openOutput(Path file) throws IOException {
+        return openOutput(file, codec);
+    }
+
+    public OutputStream openOutput(Path file, CompressionCodec codec) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        // Remove versões do arquivo escritas com outro codec, para que a leitura não encontre dados antigos
+        for (CompressionCodec candidate : CompressionCodec.values()) {
+            Files.deleteIfExists(Path.of(file + candidate.extension()));
+        }
+
+        Path target = Path.of(file + codec.extension());
+        OutputStream out = doubleBuffered
+                ? new DoubleBufferedFileOutputStream(target, bufferPool())
+                : Files.newOutputStream(target);
+
+        return switch (codec) {
+            case NONE -> out;
+            case GZIP -> new CompressedFileOutputStream(
+                    target,
+                    new ParallelGzipOutputStream(out, blockSize, Runtime.getRuntime().availableProcessors(), ForkJoinPool.commonPool())
+            );
+        };
+    }
+
+    private DirectBufferPool bufferPool() {
+        if (bufferPool == null) {
+            synchronized (this) {
+                if (bufferPool == null) {
+                    bufferPool = new DirectBufferPool(writeBufferSize, maxWriteBuffers);
+                }
+            }
+        }
+        return bufferPool;
+    }
+
+    public InputStream openInput(Path file) throws IOException {
+        Path source = resolveExisting(file);
+        if (source == null) {
+            throw new FileNotFoundException("Arquivo '" + file + "' não encontrado.");
+        }
+
+        InputStream in = Files.newInputStream(source);
+        if (source.toString().endsWith(CompressionCodec.GZIP.extension())) {
+            return new GZIPInputStream(in, 64 * 1024);
+        }
+        return in;
+    }
+
+    private static class CompressedFileOutputStream extends CountingOutputStream {
+        private final Path file;
+        private final ParallelGzipOutputStream compressed;
+
+        CompressedFileOutputStream(Path file, ParallelGzipOutputStream compressed) {
+            super(compressed);
+            this.file = file;
+            this.compressed = compressed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+
+            long rawBytes = getCount();
+            long compressedBytes = compressed.getCompressedBytes();
+            logger.info(
+                    "Arquivo '{}' comprimido: {} bytes originais, {} bytes gravados (taxa {})",
+                    file.getFileName(), rawBytes, compressedBytes,
+                    rawBytes > 0 ? "%.2f".formatted((double) compressedBytes / rawBytes) : "-"
+            );
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.gabrielrq.database_converter.service;
 
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.stereotype.Service;
@@ -8,11 +13,47 @@ import org.springframework.stereotype.Service;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class DatabaseConnectionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConnectionService.class);
+
+    /*
+     * Pools abertos por endpoint, enquanto alguma migração os utiliza. Sem pool aberto para o endpoint,
+     * cada chamada cria uma conexão física nova, como antes. O tamanho máximo acompanha o número de migrações
+     * registradas, cada uma com sua cota de conexões.
+     */
+    private static final Map<DbConnectionConfigDTO, ConnectionPool> pools = new ConcurrentHashMap<>();
+
+    @Value("${migration.pool.enabled:true}")
+    private boolean poolEnabled;
+    @Value("${migration.pool.maxSize:0}")
+    private int maxPoolSize;
+    @Value("${migration.pool.idleTimeout:60000}")
+    private long idleTimeout;
+    @Value("${migration.pool.validationTimeout:5000}")
+    private long validationTimeout;
+    @Value("${migration.pool.connectionTimeout:30000}")
+    private long connectionTimeout = 30000;
+    @Value("${migration.extract.threads:0}")
+    private int extractThreads;
+    @Value("${migration.extract.metadataThreads:1}")
+    private int metadataThreads = 1;
+
+    private record ConnectionPool(HikariDataSource dataSource, Set<UUID> migrations) {
+    }
+
     public static DataSource createDataSource(DbConnectionConfigDTO config) {
+        ConnectionPool pool = pools.get(config);
+        if (pool != null) {
+            return pool.dataSource();
+        }
+
         DriverManagerDataSource dataSource = new DriverManagerDataSource();
         dataSource.setUrl(config.jdbcUrl());
         dataSource.setUsername(config.username());
@@ -32,4 +73,78 @@ public class DatabaseConnectionService {
         return connection;
     }
 
+    /* Registra a migração como usuária dos pools dos endpoints, abrindo os que ainda não existem */
+    public void openPools(UUID migrationId, DbConnectionConfigDTO... configs) {
+        if (!poolEnabled) {
+            return;
+        }
+
+        for (DbConnectionConfigDTO config : configs) {
+            if (config == null) {
+                continue;
+            }
+            pools.compute(config, (key, pool) -> {
+                if (pool == null) {
+                    pool = new ConnectionPool(new HikariDataSource(poolConfig(key)), ConcurrentHashMap.newKeySet());
+                    logger.info("Pool de conexões aberto para {}", key.jdbcUrl());
+                }
+                pool.migrations().add(migrationId);
+                resize(pool);
+                return pool;
+            });
+        }
+    }
+
+    /* Fecha os pools que não são mais usados por nenhuma migração */
+    public void closePools(UUID migrationId) {
+        for (DbConnectionConfigDTO config : pools.keySet()) {
+            pools.computeIfPresent(config, (key, pool) -> {
+                pool.migrations().remove(migrationId);
+                if (!pool.migrations().isEmpty()) {
+                    resize(pool);
+                    return pool;
+                }
+                pool.dataSource().close();
+                logger.info("Pool de conexões fechado para {}", key.jdbcUrl());
+                return null;
+            });
+        }
+    }
+
+    /*
+     * Cota de cada migração: as threads de extração, as de leitura de metadados e a conexão coordenadora.
+     * migration.pool.maxSize, quando positivo, substitui o cálculo.
+     */
+    int connectionsPerMigration() {
+        if (maxPoolSize > 0) {
+            return maxPoolSize;
+        }
+        int extraction = extractThreads > 0 ? extractThreads : Math.max(1, Runtime.getRuntime().availableProcessors() * 2);
+        return extraction + Math.max(1, metadataThreads) + 1;
+    }
+
+    private void resize(ConnectionPool pool) {
+        int size = connectionsPerMigration() * pool.migrations().size();
+        if (pool.dataSource().getHikariConfigMXBean().getMaximumPoolSize() != size) {
+            pool.dataSource().getHikariConfigMXBean().setMaximumPoolSize(size);
+            logger.info("Pool de conexões {} ajustado para {} conexões ({} migrações)", pool.dataSource().getPoolName(), size, pool.migrations().size());
+        }
+    }
+
+    private HikariConfig poolConfig(DbConnectionConfigDTO config) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("migration-" + config.name());
+        hikariConfig.setJdbcUrl(config.jdbcUrl());
+        hikariConfig.setUsername(config.username());
+        hikariConfig.setPassword(config.password());
+        hikariConfig.setDriverClassName(config.driverClassName());
+        hikariConfig.setMaximumPoolSize(connectionsPerMigration());
+        // Sem conexões mínimas: entre etapas, conexões ociosas são descartadas após idleTimeout
+        hikariConfig.setMinimumIdle(0);
+        hikariConfig.setIdleTimeout(idleTimeout);
+        hikariConfig.setValidationTimeout(validationTimeout);
+        // Pool esgotado vira erro da etapa após connectionTimeout, em vez de uma espera indefinida
+        hikariConfig.setConnectionTimeout(connectionTimeout);
+        return hikariConfig;
+    }
 }
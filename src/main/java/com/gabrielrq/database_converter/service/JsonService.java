@@ -2,26 +2,53 @@ package com.gabrielrq.database_converter.service;
 
 
 import com.fasterxml.jackson.core.JsonEncoding;
-import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gabrielrq.database_converter.domain.SpillResult;
 import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.enums.CompressionCodec;
+import com.gabrielrq.database_converter.enums.SpillFormat;
 import com.gabrielrq.database_converter.exception.JsonException;
+import com.gabrielrq.database_converter.util.io.CountingOutputStream;
+import com.gabrielrq.database_converter.util.io.TeeInputStream;
+import com.gabrielrq.database_converter.util.spill.BinarySpillFormat;
+import com.gabrielrq.database_converter.util.spill.BinarySpillReader;
+import com.gabrielrq.database_converter.util.spill.BinarySpillWriter;
+import com.gabrielrq.database_converter.util.spill.CopyRowCodec;
+import com.gabrielrq.database_converter.util.spill.CsvRowReader;
+import com.gabrielrq.database_converter.util.spill.JsonSpillWriter;
+import com.gabrielrq.database_converter.util.spill.LobOffloader;
+import com.gabrielrq.database_converter.util.spill.RowCodec;
+import com.gabrielrq.database_converter.util.spill.RowPipeline;
+import com.gabrielrq.database_converter.util.spill.SpillReader;
+import com.gabrielrq.database_converter.util.spill.SpillWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
 
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.sql.*;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 @Service
 public class JsonService {
@@ -31,10 +58,30 @@ public class JsonService {
     private String basePath;
     @Value("${migration.transform.maps.path}")
     private String conversionMapsPath;
+    @Value("${migration.spill.format:BINARY}")
+    private SpillFormat spillFormat;
+    @Value("${migration.spill.lob.chunkSize:65536}")
+    private int lobChunkSize;
+    @Value("${migration.spill.lob.offloadThreshold:0}")
+    private long lobOffloadThreshold;
+    @Value("${migration.spill.lob.maxSize:1073741824}")
+    private long lobMaxSize = 1024 * 1024 * 1024;
+    @Value("${migration.extract.pipeline.enabled:false}")
+    private boolean pipelineEnabled;
+    @Value("${migration.extract.pipeline.batchSize:500}")
+    private int pipelineBatchSize;
+    @Value("${migration.extract.pipeline.queueDepth:4}")
+    private int pipelineQueueDepth;
+    @Value("${migration.transform.mmap.enabled:true}")
+    private boolean mmapEnabled = true;
+    @Value("${migration.transform.mmap.windowSize:67108864}")
+    private int mmapWindowSize = 64 * 1024 * 1024;
 
     private final ObjectMapper mapper = new ObjectMapper();
+    private final DataFileService dataFileService;
 
-    public JsonService() {
+    public JsonService(DataFileService dataFileService) {
+        this.dataFileService = dataFileService;
         mapper.enable(SerializationFeature.INDENT_OUTPUT);
         mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
     }
@@ -53,106 +100,354 @@ public class JsonService {
         }
     }
 
-    public void writeStream(ResultSet rs, String filename, TableDefinition table) {
-        Path outputDir = Path.of(basePath);
-        Path outputFile = outputDir.resolve(filename + ".json");
+    /* Lê um objeto JSON gravado com write(); arquivo inexistente resulta em null */
+    public <T> T read(String filename, Class<T> type) {
+        Path inputFile = Path.of(basePath).resolve(filename + ".json");
+        if (!Files.exists(inputFile)) {
+            return null;
+        }
 
         try {
-            if (!rs.next()) {
-                return;
+            return mapper.readValue(inputFile.toFile(), type);
+        } catch (IOException e) {
+            throw new JsonException("Erro ao ler JSON. Detalhes: " + e.getMessage());
+        }
+    }
+
+    /* Lê um objeto JSON gravado com write(); arquivo inexistente resulta em mapa vazio */
+    public Map<String, Object> readMap(String filename) {
+        Path inputFile = Path.of(basePath).resolve(filename + ".json");
+        if (!Files.exists(inputFile)) {
+            return new LinkedHashMap<>();
+        }
+
+        try {
+            return mapper.readValue(inputFile.toFile(), new TypeReference<LinkedHashMap<String, Object>>() {
+            });
+        } catch (IOException e) {
+            throw new JsonException("Erro ao ler JSON. Detalhes: " + e.getMessage());
+        }
+    }
+
+    public void deleteDirectory(String directory) {
+        try {
+            FileSystemUtils.deleteRecursively(Path.of(basePath).resolve(directory));
+        } catch (IOException e) {
+            throw new JsonException("Erro ao remover diretório '" + directory + "'. Detalhes: " + e.getMessage());
+        }
+    }
+
+    public SpillFormat getSpillFormat() {
+        return spillFormat;
+    }
+
+    public Path resolveTableData(Path tablesPath, String tableName) {
+        Path tableFile = tablesPath.resolve(tableName + spillFormat.extension());
+        if (dataFileService.exists(tableFile)) {
+            return tableFile;
+        }
+
+        // Dados extraídos antes de uma troca de formato continuam legíveis
+        for (SpillFormat format : SpillFormat.values()) {
+            Path candidate = tablesPath.resolve(tableName + format.extension());
+            if (dataFileService.exists(candidate)) {
+                return candidate;
             }
+        }
+        return tableFile;
+    }
 
-            ResultSetMetaData metadata = rs.getMetaData();
-            int columns = metadata.getColumnCount();
-            String[] columnNames = new String[columns];
+    private SpillWriter openSpillWriter(OutputStream out) throws IOException {
+        return switch (spillFormat) {
+            case JSON -> new JsonSpillWriter(mapper.getFactory().createGenerator(out, JsonEncoding.UTF8).useDefaultPrettyPrinter());
+            case BINARY -> new BinarySpillWriter(out, lobChunkSize);
+        };
+    }
+
+    public SpillResult writeStream(ResultSet rs, String filename, TableDefinition table) {
+        Path outputFile = Path.of(basePath).resolve(filename + spillFormat.extension());
+        return writeStream(rs, outputFile, outputFile.getParent(), table, dataFileService.getCodec());
+    }
 
-            for (int i = 1; i <= columns; i++) {
-                columnNames[i - 1] = metadata.getColumnName(i);
+    /* Segmentos são temporários e não são comprimidos, pois são unidos por cópia direta de bytes */
+    public SpillResult writeSegment(ResultSet rs, String filename, TableDefinition table) {
+        Path outputFile = Path.of(basePath).resolve(filename + spillFormat.extension());
+        return writeStream(rs, outputFile, outputFile.getParent().getParent(), table, CompressionCodec.NONE);
+    }
+
+    public boolean existsTableData(String filename) {
+        return dataFileService.exists(Path.of(basePath).resolve(filename + spillFormat.extension()));
+    }
+
+    /* LOBs descarregados ficam em "<tabela>.lobs", ao lado do arquivo de dados, compartilhado por todos os segmentos */
+    public void deleteLobs(String filename) {
+        Path lobDirectory = Path.of(basePath).resolve(filename + ".lobs");
+        if (!Files.isDirectory(lobDirectory)) {
+            return;
+        }
+
+        try (var files = Files.list(lobDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
             }
+            Files.delete(lobDirectory);
+        } catch (IOException e) {
+            throw new JsonException("Erro ao remover LOBs de uma extração anterior. Detalhes: " + e.getMessage());
+        }
+    }
 
-            Files.createDirectories(outputFile.getParent());
+    /*
+     * Cópias brutas do COPY ficam em "<tabela>.copy/", um CSV por segmento (índice 0 para a tabela inteira).
+     * A listagem retorna os caminhos sem a extensão do codec, resolvidos na leitura como os demais arquivos de dados.
+     */
+    public String rawCopyFile(String filename, int index) {
+        return filename + ".copy/" + "%05d".formatted(index) + ".csv";
+    }
 
-            try (
-                    FileOutputStream fos = new FileOutputStream(outputFile.toFile());
-                    BufferedOutputStream bos = new BufferedOutputStream(fos);
-                    JsonGenerator generator = mapper.getFactory().createGenerator(bos, JsonEncoding.UTF8);
-            ) {
-                generator.writeStartArray();
+    public List<Path> listRawCopies(String filename) {
+        Path rawDirectory = Path.of(basePath).resolve(filename + ".copy");
+        if (!Files.isDirectory(rawDirectory)) {
+            return List.of();
+        }
 
+        try (var files = Files.list(rawDirectory)) {
+            return files.map(dataFileService::stripCompression).distinct().sorted().toList();
+        } catch (IOException e) {
+            throw new JsonException("Erro ao listar cópias brutas do COPY. Detalhes: " + e.getMessage());
+        }
+    }
+
+    public void deleteRawCopies(String filename) {
+        deleteDirectory(filename + ".copy");
+    }
+
+    private SpillResult writeStream(ResultSet rs, Path outputFile, Path tablesPath, TableDefinition table, CompressionCodec compression) {
+        try {
+            if (!rs.next()) {
+                return SpillResult.EMPTY;
+            }
+
+            LobOffloader offloader = lobOffloadThreshold > 0
+                    ? new LobOffloader(tablesPath.resolve(table.name() + ".lobs"), lobOffloadThreshold)
+                    : null;
+            RowCodec codec = RowCodec.compile(rs.getMetaData(), offloader);
+
+            return spill(outputFile, compression, writer -> {
+                codec.writeHeader(writer);
+
+                if (pipelineEnabled && codec.isDetachable()) {
+                    RowPipeline.Stats stats = new RowPipeline(pipelineBatchSize, pipelineQueueDepth).run(rs, codec, writer, table.name());
+                    log.info(
+                            "Pipeline de extração da tabela {}: {} linhas em {} lotes, fila média {} e máxima {}, espera do leitor {} ms, espera do codificador {} ms",
+                            table.name(), stats.rows(), stats.batches(), "%.1f".formatted(stats.averageQueueDepth()), stats.maxQueueDepth(),
+                            TimeUnit.NANOSECONDS.toMillis(stats.fetchStallNanos()), TimeUnit.NANOSECONDS.toMillis(stats.encodeStallNanos())
+                    );
+                    return stats.rows();
+                }
+
+                long rows = 0;
                 do {
-                    generator.writeStartObject();
+                    codec.writeRow(rs, writer);
+                    rows++;
+                } while (rs.next());
+                return rows;
+            });
+        } catch (IOException | SQLException e) {
+            throw new JsonException("Erro ao escrever JSON. Detalhes: " + e.getMessage());
+        }
+    }
 
-                    for (int i = 1; i <= columns; i++) {
-                        String columnName = columnNames[i - 1];
-                        int columnType = metadata.getColumnType(i);
-                        Object value = rs.getObject(i);
+    /*
+     * Decodifica o CSV de um "COPY ... TO STDOUT" direto no formato de spill, no mesmo destino de writeStream/writeSegment.
+     * Com rawFile, os bytes do COPY também são mantidos como vieram, para carga via COPY FROM em destino Postgres.
+     */
+    public SpillResult writeCopy(InputStream copyData, CopyRowCodec codec, String filename, boolean segment, String rawFile) {
+        Path outputFile = Path.of(basePath).resolve(filename + spillFormat.extension());
+        CompressionCodec compression = segment ? CompressionCodec.NONE : dataFileService.getCodec();
 
-                        switch (columnType) {
-                            case Types.DATE -> {
-                                Date date = rs.getDate(i);
-                                generator.writeStringField(columnName, date != null ? date.toLocalDate().toString() : null);
-                            }
-                            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> {
-                                Timestamp ts = rs.getTimestamp(i);
-                                generator.writeStringField(columnName, ts != null ? ts.toInstant().toString() : null);
-                            }
-                            case Types.CLOB -> {
-                                Clob clob = rs.getClob(i);
-                                String clobValue = clob != null ? clob.getSubString(1L, (int) clob.length()) : null;
-                                generator.writeStringField(columnName, clobValue);
-                            }
-                            case Types.BLOB, Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> {
-                                byte[] bytes = rs.getBytes(i);
-                                if (bytes != null) {
-                                    generator.writeBinaryField(columnName, bytes); // writes as base64
-                                } else {
-                                    generator.writeNullField(columnName);
-                                }
-                            }
-                            case Types.ARRAY -> {
-                                try {
-                                    Object[] arr = (Object[]) ((Array) value).getArray();
-                                    String arrStr = Arrays.stream(arr).map(v -> v != null ? v.toString() : "").collect(Collectors.joining(";"));
-                                    generator.writeStringField(columnName, arrStr);
-                                } catch (SQLException ignored) {
-                                    /* Arrays are poorly supported in some DBMS, so: try to convert it to a comma separated text, on fail ignore */
-                                    table.columns().remove(columnName);
+        try {
+            InputStream input = copyData;
+            if (rawFile != null) {
+                // Mesmo codec e buffers dos arquivos de dados; a carga lê via DataFileService.openInput
+                input = new TeeInputStream(copyData, dataFileService.openOutput(Path.of(basePath).resolve(rawFile)));
+            }
+
+            try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+                CsvRowReader csv = new CsvRowReader(reader);
+                String[] first = csv.next();
+                if (first == null) {
+                    return SpillResult.EMPTY;
+                }
+
+                return spill(outputFile, compression, writer -> {
+                    codec.writeHeader(writer);
+                    long rows = 0;
+                    String[] fields = first;
+                    do {
+                        codec.writeRow(fields, writer);
+                        rows++;
+                    } while ((fields = csv.next()) != null);
+                    return rows;
+                });
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            throw new JsonException("Erro ao decodificar COPY. Detalhes: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        long writeRows(SpillWriter writer) throws IOException, SQLException;
+    }
+
+    private SpillResult spill(Path outputFile, CompressionCodec compression, RowSource source) throws IOException, SQLException {
+        CRC32 checksum = new CRC32();
+        CountingOutputStream counter;
+        long rows;
+
+        try (
+                OutputStream fos = dataFileService.openOutput(outputFile, compression);
+                CountingOutputStream cos = new CountingOutputStream(new CheckedOutputStream(fos, checksum));
+                BufferedOutputStream bos = new BufferedOutputStream(cos);
+                SpillWriter writer = openSpillWriter(bos);
+        ) {
+            counter = cos;
+            rows = source.writeRows(writer);
+        }
+
+        return new SpillResult(rows, counter.getCount(), checksum.getValue());
+    }
+
+    /* O resultado traz tamanho e checksum do arquivo unido; a contagem de linhas fica a cargo de quem conhece os segmentos */
+    public SpillResult mergeSegments(List<String> segments, String filename) {
+        Path outputDir = Path.of(basePath);
+        Path outputFile = outputDir.resolve(filename + spillFormat.extension());
+
+        try {
+            List<Path> parts = new ArrayList<>();
+            for (String segment : segments) {
+                Path part = outputDir.resolve(segment + spillFormat.extension());
+                if (Files.exists(part)) {
+                    parts.add(part);
+                }
+            }
+
+            CRC32 checksum = new CRC32();
+            long byteCount = 0;
+
+            if (!parts.isEmpty()) {
+                CountingOutputStream counter = new CountingOutputStream(new CheckedOutputStream(dataFileService.openOutput(outputFile), checksum));
+                try (WritableByteChannel out = Channels.newChannel(counter)) {
+                    switch (spillFormat) {
+                        case JSON -> {
+                            // Cada segmento é um array JSON completo: copia apenas o conteúdo entre '[' e ']'
+                            out.write(ByteBuffer.wrap(new byte[]{'['}));
+                            for (int i = 0; i < parts.size(); i++) {
+                                if (i > 0) {
+                                    out.write(ByteBuffer.wrap(new byte[]{','}));
                                 }
+                                transferRange(parts.get(i), 1, 1, out);
                             }
-                            case Types.OTHER, Types.DISTINCT -> {
-                                /* Ignore database specific types */
-                                table.columns().remove(columnName);
+                            out.write(ByteBuffer.wrap(new byte[]{']'}));
+                        }
+                        case BINARY -> {
+                            // Cabeçalho escrito uma única vez, seguido das linhas de cada segmento sem o marcador de fim
+                            long headerLength = BinarySpillFormat.headerLength(parts.getFirst());
+                            try (FileChannel in = FileChannel.open(parts.getFirst(), StandardOpenOption.READ)) {
+                                transferFully(in, 0, headerLength, out);
                             }
-                            default -> {
-                                if (value == null) {
-                                    generator.writeNullField(columnName);
-                                } else {
-                                    generator.writeObjectField(columnName, value);
-                                }
+                            for (Path part : parts) {
+                                transferRange(part, BinarySpillFormat.headerLength(part), 1, out);
                             }
+                            out.write(ByteBuffer.wrap(new byte[]{BinarySpillFormat.END}));
                         }
                     }
+                }
+                byteCount = counter.getCount();
+            }
 
-                    generator.writeEndObject();
-                } while (rs.next());
-
-                generator.writeEndArray();
-                generator.flush();
+            for (String segment : segments) {
+                Files.deleteIfExists(outputDir.resolve(segment + spillFormat.extension()));
             }
-        } catch (IOException | SQLException e) {
-            throw new JsonException("Erro ao escrever JSON. Detalhes: " + e.getMessage());
+            if (!segments.isEmpty()) {
+                Files.deleteIfExists(outputDir.resolve(segments.getFirst()).getParent());
+            }
+
+            return new SpillResult(0, byteCount, checksum.getValue());
+        } catch (IOException e) {
+            throw new JsonException("Erro ao unir segmentos de dados. Detalhes: " + e.getMessage());
+        }
+    }
+
+    private void transferRange(Path part, long skipStart, long skipEnd, WritableByteChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+            transferFully(in, skipStart, in.size() - skipEnd, out);
+        }
+    }
+
+    private void transferFully(FileChannel in, long position, long end, WritableByteChannel out) throws IOException {
+        while (position < end) {
+            position += in.transferTo(position, end - position, out);
         }
     }
 
     public List<Map<String, Object>> readTableData(Path tablePath) throws IOException {
-        if (!Files.exists(tablePath)) {
+        try (SpillReader reader = openTableData(tablePath)) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            Map<String, Object> row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+            return rows;
+        }
+    }
+
+    /*
+     * Cursor sobre as linhas da tabela, sem carregar o arquivo inteiro em memória. Arquivos binários sem compressão
+     * são decodificados direto de janelas mapeadas em memória; os demais, do stream (descomprimido, se for o caso).
+     */
+    public SpillReader openTableData(Path tablePath) throws IOException {
+        Path source = dataFileService.resolveExisting(tablePath);
+        if (source == null) {
             throw new FileNotFoundException("File '" + tablePath + "' not found");
         }
 
-        try (FileInputStream stream = new FileInputStream(tablePath.toString())) {
-            return mapper.readValue(stream, new TypeReference<List<Map<String, Object>>>() {
-            });
+        if (tablePath.toString().endsWith(SpillFormat.BINARY.extension())) {
+            if (mmapEnabled && source.equals(tablePath)) {
+                return BinarySpillReader.mapped(source, mmapWindowSize, tablePath.getParent(), lobMaxSize);
+            }
+            return new BinarySpillReader(new BufferedInputStream(dataFileService.openInput(tablePath)), tablePath.getParent(), lobMaxSize);
+        }
+
+        JsonParser parser = mapper.createParser(dataFileService.openInput(tablePath));
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Formato de arquivo de dados inválido.");
         }
+
+        return new SpillReader() {
+            @Override
+            public Map<String, Object> next() throws IOException {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+
+                Map<String, Object> row = parser.readValueAs(new TypeReference<LinkedHashMap<String, Object>>() {
+                });
+                for (Map.Entry<String, Object> entry : row.entrySet()) {
+                    if (entry.getValue() instanceof Map<?, ?> value && value.get(JsonSpillWriter.LOB_REFERENCE_FIELD) instanceof String reference) {
+                        boolean binary = Boolean.TRUE.equals(value.get(JsonSpillWriter.LOB_BINARY_FIELD));
+                        entry.setValue(LobOffloader.read(tablePath.getParent(), reference, binary, lobMaxSize));
+                    }
+                }
+                return row;
+            }
+
+            @Override
+            public void close() throws IOException {
+                parser.close();
+            }
+        };
     }
 
     public Map<Integer, String> readConversionMap(String mapName) throws IOException {
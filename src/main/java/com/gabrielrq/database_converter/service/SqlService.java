@@ -5,60 +5,98 @@ import com.gabrielrq.database_converter.domain.DatabaseDefinition;
 import com.gabrielrq.database_converter.domain.TableDefinition;
 import com.gabrielrq.database_converter.dto.SqlDTO;
 import com.gabrielrq.database_converter.dto.SqlPageDTO;
+import com.gabrielrq.database_converter.enums.ExecutorMode;
 import com.gabrielrq.database_converter.exception.SqlException;
-import com.gabrielrq.database_converter.util.FirebirdBlobHelper;
+import com.gabrielrq.database_converter.util.dml.DmlProjection;
+import com.gabrielrq.database_converter.util.dml.MultiRowInsertWriter;
+import com.gabrielrq.database_converter.util.dml.ValueFormatters;
+import com.gabrielrq.database_converter.util.migration.MigrationTaskDecorator;
+import com.gabrielrq.database_converter.util.spill.SpillReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
 public class SqlService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SqlService.class);
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
     @Value("${migration.data.path}")
     private String basePath;
     @Value("${migration.transform.ddl.path}")
     private String ddlPath;
     @Value("${migration.transform.dml.path}")
     private String dmlPath;
+    @Value("${migration.transform.dmlDelta.path:./dml-delta/}")
+    private String dmlDeltaPath;
+    @Value("${migration.transform.threads:0}")
+    private int threads;
+    @Value("${migration.transform.batchBytes:8388608}")
+    private long batchBytes = 8 * 1024 * 1024;
+    @Value("${migration.transform.dml.rowsPerStatement:1}")
+    private int rowsPerStatement = 1;
+    @Value("${migration.transform.dml.maxStatementBytes:65536}")
+    private long maxStatementBytes = 64 * 1024;
+    @Value("${migration.load.batchSize:0}")
+    private int loadBatchSize;
+    @Value("${migration.executor.mode:PLATFORM}")
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM;
 
     private final JsonService jsonService;
+    private final DataFileService dataFileService;
 
-    public SqlService(JsonService jsonService) {
+    public SqlService(JsonService jsonService, DataFileService dataFileService) {
         this.jsonService = jsonService;
+        this.dataFileService = dataFileService;
     }
 
     public void write(Path path, String content) {
-        try {
-            Files.createDirectories(path.getParent());
-
-            try (
-                    FileWriter fw = new FileWriter(path.toFile());
-                    BufferedWriter writer = new BufferedWriter(fw)
-            ) {
-                writer.write(content);
-            }
+        try (Writer writer = openWriter(path)) {
+            writer.write(content);
         } catch (IOException e) {
             throw new SqlException("Erro ao escrever arquivo SQL. Detalhes: " + e.getMessage());
         }
     }
 
+    private Writer openWriter(Path path) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(dataFileService.openOutput(path), StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+    }
+
     public String read(Path path) throws IOException {
         Path p = Path.of(basePath).resolve(path);
 
-        if (!Files.exists(p)) {
+        if (!dataFileService.exists(p)) {
             throw new FileNotFoundException("File '" + p + "' not found");
         }
 
-        return Files.readString(p);
+        return readContent(p);
+    }
+
+    private String readContent(Path path) throws IOException {
+        try (InputStream in = dataFileService.openInput(path)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
     }
 
     public SqlPageDTO listDDL(String name, int page, int size) {
@@ -72,15 +110,16 @@ public class SqlService {
         try (Stream<Path> filesStream = Files.list(dir)) {
             Iterator<Path> iterator = filesStream
                     .filter(Files::isRegularFile)
+                    .map(dataFileService::stripCompression)
                     .filter(f -> f.toString().endsWith(".sql"))
+                    .distinct()
                     .sorted()
                     .iterator();
 
             while (iterator.hasNext()) {
                 Path path = iterator.next();
                 if (total >= start && total < end) {
-                    String content = Files.readString(path);
-                    pageFiles.add(new SqlDTO(path.getFileName().toString(), content));
+                    pageFiles.add(new SqlDTO(path.getFileName().toString(), readContent(path)));
                 }
                 total++;
             }
@@ -103,33 +142,235 @@ public class SqlService {
     public void bufferReadAndExec(Path path, Statement statement) throws IOException, SQLException {
         Path p = Path.of(basePath).resolve(path);
 
-        if (!Files.exists(p)) {
+        if (!dataFileService.exists(p)) {
             throw new FileNotFoundException("Arquivo '" + p + "' não encontrado.");
         }
 
-        try (BufferedReader br = Files.newBufferedReader(p)) {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(dataFileService.openInput(p), StandardCharsets.UTF_8))) {
+            StatementBatch batch = new StatementBatch(statement, loadBatchSize);
             StringBuilder sqlBlock = new StringBuilder();
+            boolean executeBlock = false;
             String line;
             while ((line = br.readLine()) != null) {
                 line = line.trim();
                 if (line.isEmpty() || line.startsWith("--")) continue;
+                if (sqlBlock.isEmpty() && line.equalsIgnoreCase(MultiRowInsertWriter.EXECUTE_BLOCK)) {
+                    executeBlock = true;
+                }
                 sqlBlock.append(line).append(" ");
 
-                if (line.endsWith(";")) {
-                    statement.execute(sqlBlock.toString());
+                // Dentro de um EXECUTE BLOCK os ';' separam os comandos internos: o bloco só termina no END
+                if (executeBlock ? line.equalsIgnoreCase(MultiRowInsertWriter.END_BLOCK) : line.endsWith(";")) {
+                    batch.add(sqlBlock.toString());
                     sqlBlock.setLength(0);
+                    executeBlock = false;
                 }
             }
 
             if (!sqlBlock.isEmpty()) {
-                statement.execute(sqlBlock.toString());
+                batch.add(sqlBlock.toString());
+            }
+            batch.finish(p);
+        }
+    }
+
+    /*
+     * Agrupa os comandos do arquivo com addBatch/executeBatch, um envio ao servidor por lote.
+     * Com tamanho de lote 0 cada comando é executado sozinho com execute(), como antes.
+     * Os comandos são texto literal, então o reWriteBatchedInserts do driver Postgres (só para PreparedStatement) não
+     * se aplica: o agrupamento de linhas vem dos INSERTs de várias linhas gerados no DML (rowsPerStatement).
+     */
+    private static class StatementBatch {
+
+        private static final int STATEMENT_PREFIX_LENGTH = 200;
+
+        private final Statement statement;
+        private final int batchSize;
+        // Comandos do lote pendente, para identificar o que falhou
+        private final List<String> pending = new ArrayList<>();
+
+        private long executed;
+        private int batches;
+        private long totalNanos;
+        private long maxNanos;
+
+        StatementBatch(Statement statement, int batchSize) {
+            this.statement = statement;
+            this.batchSize = batchSize;
+        }
+
+        void add(String sql) throws SQLException {
+            if (batchSize <= 0) {
+                statement.execute(sql);
+                return;
+            }
+
+            statement.addBatch(sql);
+            pending.add(sql);
+            if (pending.size() == batchSize) {
+                executeBatch();
+            }
+        }
+
+        private void executeBatch() throws SQLException {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                statement.executeBatch();
+            } catch (BatchUpdateException e) {
+                throw batchFailure(e);
+            } finally {
+                executed += pending.size();
+                pending.clear();
+            }
+            long elapsed = System.nanoTime() - start;
+            batches++;
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+            logger.debug("Lote {} executado em {} ms", batches, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+
+        /*
+         * O driver informa um contador por comando executado: o que falhou é o primeiro EXECUTE_FAILED ou, quando o
+         * driver para na falha, o primeiro sem contador.
+         */
+        private SQLException batchFailure(BatchUpdateException e) {
+            int[] counts = e.getUpdateCounts() != null ? e.getUpdateCounts() : new int[0];
+            int failed = counts.length;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == Statement.EXECUTE_FAILED) {
+                    failed = i;
+                    break;
+                }
+            }
+
+            if (failed >= pending.size()) {
+                return new SQLException("Falha no lote " + (batches + 1) + " de comandos. Detalhe: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+            }
+            String sql = pending.get(failed);
+            String prefix = sql.length() > STATEMENT_PREFIX_LENGTH ? sql.substring(0, STATEMENT_PREFIX_LENGTH) + "..." : sql;
+            return new SQLException(
+                    "Falha no comando " + (executed + failed + 1) + " do arquivo (posição " + failed + " do lote " + (batches + 1) + "): "
+                            + prefix + " Detalhe: " + e.getMessage(),
+                    e.getSQLState(), e.getErrorCode(), e
+            );
+        }
+
+        void finish(Path file) throws SQLException {
+            executeBatch();
+            if (batches > 0) {
+                logger.info(
+                        "Arquivo '{}' executado em {} lote(s): latência média {} ms, máxima {} ms",
+                        file.getFileName(), batches, TimeUnit.NANOSECONDS.toMillis(totalNanos / batches), TimeUnit.NANOSECONDS.toMillis(maxNanos)
+                );
+            }
+        }
+    }
+
+    /*
+     * DDL e DML de cada tabela são independentes e gerados em paralelo, maiores primeiro pelo tamanho do arquivo de dados.
+     * Tabelas pequenas são agrupadas em lotes de até batchBytes, para não pagar uma tarefa por tabela. A falha de uma
+     * tabela não interrompe as demais: seus arquivos parciais são removidos e a falha é retornada, indexada pelo nome.
+     */
+    public Map<String, String> generate(String identifier, DatabaseDefinition metadata, Map<Integer, String> conversionMap, String target) {
+        Path ddlDir = Path.of(basePath).resolve(identifier).resolve(ddlPath);
+        Path dmlDir = Path.of(basePath).resolve(identifier).resolve(dmlPath);
+        Path tablesPath = Path.of(basePath).resolve(identifier).resolve("tables");
+        Map<String, String> failedTables = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = newExecutor()) {
+            for (GenerationTask task : planGeneration(tablesPath, metadata.tables())) {
+                futures.add(executor.submit(new MigrationTaskDecorator().decorate(() -> {
+                    for (TableDefinition table : task.tables()) {
+                        try {
+                            generateDDL(ddlDir, table, conversionMap, target);
+                            generateDML(tablesPath, dmlDir, table, target);
+                        } catch (RuntimeException e) {
+                            logger.error("Falha na geração de SQL da tabela '{}'", table.name(), e);
+                            failedTables.put(table.name(), String.valueOf(e.getMessage()));
+                            deleteGenerated(ddlDir, table);
+                            deleteGenerated(dmlDir, table);
+                        }
+                    }
+                })));
+            }
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SqlException("Geração de SQL interrompida.");
+            } catch (ExecutionException e) {
+                throw new SqlException("Falha na geração de SQL. Detalhes: " + e.getCause().getMessage());
+            }
+        }
+        return failedTables;
+    }
+
+    private record GenerationTask(long bytes, List<TableDefinition> tables) {
+    }
+
+    private List<GenerationTask> planGeneration(Path tablesPath, List<TableDefinition> tables) {
+        Map<TableDefinition, Long> sizes = new HashMap<>();
+        for (TableDefinition table : tables) {
+            sizes.put(table, dataSize(tablesPath, table));
+        }
+
+        List<GenerationTask> tasks = new ArrayList<>();
+        List<TableDefinition> batch = new ArrayList<>();
+        long batchSize = 0;
+        for (TableDefinition table : tables.stream().sorted(Comparator.comparingLong(sizes::get).reversed()).toList()) {
+            long size = sizes.get(table);
+            if (size >= batchBytes) {
+                tasks.add(new GenerationTask(size, List.of(table)));
+                continue;
+            }
+            if (!batch.isEmpty() && batchSize + size > batchBytes) {
+                tasks.add(new GenerationTask(batchSize, batch));
+                batch = new ArrayList<>();
+                batchSize = 0;
             }
+            batch.add(table);
+            batchSize += size;
         }
+        if (!batch.isEmpty()) {
+            tasks.add(new GenerationTask(batchSize, batch));
+        }
+        return tasks;
     }
 
-    public void generate(String identifier, DatabaseDefinition metadata, Map<Integer, String> conversionMap, String target) {
-        generateDDL(identifier, metadata, conversionMap, target);
-        generateDML(identifier, metadata, target);
+    private long dataSize(Path tablesPath, TableDefinition table) {
+        Path tableData = jsonService.resolveTableData(tablesPath, table.name());
+        Path file = tableData != null ? dataFileService.resolveExisting(tableData) : null;
+        try {
+            return file != null ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void deleteGenerated(Path outDir, TableDefinition table) {
+        Path file = dataFileService.resolveExisting(outDir.resolve(table.name() + ".sql"));
+        try {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Não foi possível remover o arquivo parcial '{}'", file, e);
+        }
+    }
+
+    private ExecutorService newExecutor() {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        return executorMode == ExecutorMode.VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newWorkStealingPool(threads > 0 ? threads : availableProcessors);
     }
 
     public void generateDML(String identifier, DatabaseDefinition metadata, String target) {
@@ -137,18 +378,32 @@ public class SqlService {
         Path tablesPath = Path.of(basePath).resolve(identifier).resolve("tables");
 
         for (var table : metadata.tables()) {
-            StringBuilder dmlBuilder = new StringBuilder();
-            String columns = String.join(",",
-                    table.columns().stream()
-                            .filter(c -> !"INVALID".equalsIgnoreCase(c.targetType()))
-                            .map(ColumnDefinition::name).toList()
-            );
+            generateDML(tablesPath, outDir, table, target);
+        }
+    }
+
+    private void generateDML(Path tablesPath, Path outDir, TableDefinition table, String target) {
+        generateDMLData(table, tablesPath, outDir.resolve(/* table.schema() + "." + */ table.name() + ".sql"), target, false);
+    }
 
-            if (!generateDMLData(table, tablesPath, dmlBuilder, columns, target)) {
+    /* Deltas da sincronização incremental viram upserts pela chave primária, para que linhas já carregadas sejam atualizadas */
+    public void generateUpsertDML(String identifier, List<TableDefinition> tables, String target) {
+        Path outDir = Path.of(basePath).resolve(identifier).resolve(dmlDeltaPath);
+        Path deltasPath = Path.of(basePath).resolve(identifier).resolve("deltas");
+
+        try {
+            FileSystemUtils.deleteRecursively(outDir);
+        } catch (IOException e) {
+            throw new SqlException("Erro ao remover DML incremental anterior. Detalhes: " + e.getMessage());
+        }
+
+        for (var table : tables) {
+            if (table.primaryKeyColumns().isEmpty()) {
+                logger.warn("Tabela '{}' sem chave primária não pode ser sincronizada por upsert e foi ignorada", table.name());
                 continue;
             }
 
-            write(outDir.resolve(/* table.schema() + "." + */ table.name() + ".sql"), dmlBuilder.toString());
+            generateDMLData(table, deltasPath, outDir.resolve(table.name() + ".sql"), target, true);
         }
     }
 
@@ -156,91 +411,81 @@ public class SqlService {
         Path outDir = Path.of(basePath).resolve(identifier).resolve(ddlPath);
 
         for (var table : metadata.tables()) {
-            StringBuilder ddlBuilder = new StringBuilder()
-                    .append("CREATE TABLE ")
-//                    .append(table.schema())
-//                    .append(".")
-//                    .append("'")
-                    .append(table.name())
-//                    .append("'")
-                    .append(" (\n");
-
-            generateDDLColumn(table, ddlBuilder, conversionMap, target);
-            generateDDLPk(table, ddlBuilder);
-            generateDDLFk(table, ddlBuilder);
-            generateDDLUnique(table, ddlBuilder);
-
-            ddlBuilder.append("\n);");
-            write(outDir.resolve(/* table.schema() + "." + */ table.name() + ".sql"), ddlBuilder.toString());
+            generateDDL(outDir, table, conversionMap, target);
         }
     }
 
-    private boolean generateDMLData(TableDefinition table, Path tablesPath, StringBuilder dmlBuilder, String columns, String target) {
-        try {
-            List<Map<String, Object>> tableData = jsonService.readTableData(tablesPath.resolve(/* table.schema() + "." + */ table.name() + ".json"));
-            if (tableData.isEmpty()) return false;
-
-            for (var data : tableData) {
-                String values = data.entrySet().stream()
-                        .filter(
-                                e -> table.columns().stream()
-                                        .anyMatch(
-                                                c -> c.name().equalsIgnoreCase(e.getKey()) && !"INVALID".equalsIgnoreCase(c.targetType())
-                                        )
-                        )
-                        .map(e -> formatDMLValue(e.getValue(), target))
-                        .collect(Collectors.joining(","));
-
-                dmlBuilder.append("INSERT INTO ")
-//                        .append(table.schema())
-//                        .append(".")
-                        .append(table.name())
-                        .append(" (")
-                        .append(columns)
-                        .append(") VALUES ")
-                        .append("(")
-                        .append(values)
-                        .append(");")
-                        .append(System.lineSeparator());
+    private void generateDDL(Path outDir, TableDefinition table, Map<Integer, String> conversionMap, String target) {
+        StringBuilder ddlBuilder = new StringBuilder()
+                .append("CREATE TABLE ")
+//                .append(table.schema())
+//                .append(".")
+//                .append("'")
+                .append(table.name())
+//                .append("'")
+                .append(" (\n");
+
+        generateDDLColumn(table, ddlBuilder, conversionMap, target);
+        generateDDLPk(table, ddlBuilder);
+        generateDDLFk(table, ddlBuilder);
+        generateDDLUnique(table, ddlBuilder);
+
+        ddlBuilder.append("\n);");
+        write(outDir.resolve(/* table.schema() + "." + */ table.name() + ".sql"), ddlBuilder.toString());
+    }
+
+    /*
+     * Lê as linhas do arquivo de dados uma a uma e grava cada comando direto no arquivo de saída: a memória usada
+     * não depende do tamanho da tabela. Tabelas sem dados não geram arquivo.
+     */
+    private void generateDMLData(TableDefinition table, Path tablesPath, Path outputFile, String target, boolean upsert) {
+        try (SpillReader reader = jsonService.openTableData(jsonService.resolveTableData(tablesPath, /* table.schema() + "." + */ table.name()))) {
+            Map<String, Object> data = reader.next();
+            if (data == null) return;
+
+            // Plano montado a partir das chaves da primeira linha; todas as linhas do arquivo têm as mesmas chaves
+            DmlProjection projection = DmlProjection.compile(table, data.keySet(), column -> ValueFormatters.forColumn(column, target));
+            StringBuilder values = new StringBuilder();
+
+            // Upserts ficam um por linha: o mesmo registro pode aparecer mais de uma vez nos deltas
+            try (
+                    Writer writer = openWriter(outputFile);
+                    MultiRowInsertWriter inserts = new MultiRowInsertWriter(
+                            writer, /* table.schema() + "." + */ table.name(), projection.columns(), target, rowsPerStatement, maxStatementBytes
+                    )
+            ) {
+                do {
+                    values.setLength(0);
+                    projection.appendValues(data, values);
+
+                    if (upsert) {
+                        writer.append(formatUpsert(table, projection, values, target)).append(System.lineSeparator());
+                    } else {
+                        inserts.add(values);
+                    }
+                } while ((data = reader.next()) != null);
             }
-        } catch (FileNotFoundException e) {
-            return false;
+        } catch (FileNotFoundException ignored) {
         } catch (IOException e) {
             throw new SqlException("Erro ao gerar DML para a tabela '" + table.name() + "'. Detalhes: " + e.getMessage());
         }
-        return true;
     }
 
-    private String formatDMLValue(Object value, String target) {
-        if (value == null) {
-            return "NULL";
-        } else if (value instanceof Number || value instanceof Boolean) {
-            return value.toString();
-        } else {
-            String stringValue = value.toString()
-                    .replace("'", "''")
-                    .replaceAll("[\\u0000-\\u001F\\u007F]", ""); // Remove caracteres de controle
-
-            if ("FIREBIRD".equals(target)) {
-                if (stringValue.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d+)?Z")) {
-                    stringValue = stringValue
-                            .replace("T", " ")
-                            .replace("Z", "").replaceAll("(\\.\\d{3})\\d{3}$", "$1");
-                    ;
-                } else if (stringValue.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}[+-]\\d{2}:\\d{2}(\\.\\d+)?")) {
-                    stringValue = stringValue.substring(0, 19)
-                            .replace("T", " ")
-                            .replaceAll("(\\.\\d{3})\\d{3}$", "$1");
-                    ;
-                }
+    private String formatUpsert(TableDefinition table, DmlProjection projection, CharSequence values, String target) {
+        String primaryKey = String.join(",", table.primaryKeyColumns());
+        String columns = projection.columns();
 
-                if (stringValue.length() > 60_000) {
-                    return FirebirdBlobHelper.toFirebirdBlobLiteral(stringValue);
-                }
-            }
-
-            return "'" + stringValue + "'";
+        if ("FIREBIRD".equals(target)) {
+            return "UPDATE OR INSERT INTO " + table.name() + " (" + columns + ") VALUES (" + values + ") MATCHING (" + primaryKey + ");";
         }
+
+        String updates = projection.columnNames().stream()
+                .filter(c -> table.primaryKeyColumns().stream().noneMatch(c::equalsIgnoreCase))
+                .map(c -> c + " = EXCLUDED." + c)
+                .collect(Collectors.joining(","));
+
+        return "INSERT INTO " + table.name() + " (" + columns + ") VALUES (" + values + ") ON CONFLICT (" + primaryKey + ") "
+                + (updates.isEmpty() ? "DO NOTHING;" : "DO UPDATE SET " + updates + ";");
     }
 
     private String formatColumnType(ColumnDefinition column, Map<Integer, String> conversionMap, String target) {
@@ -0,0 +1,125 @@
+package com.gabrielrq.database_converter.service.catalog;
+
+import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.domain.TableStatistics;
+import com.gabrielrq.database_converter.domain.builder.ForeignKeyDefinitionBuilder;
+import com.gabrielrq.database_converter.domain.builder.TableDefinitionBuilder;
+
+import java.sql.*;
+import java.util.*;
+
+/*
+ * Leitura do catálogo inteiro do schema em poucas consultas, independentemente do número de tabelas:
+ * tabelas e colunas via DatabaseMetaData (sem filtro de tabela) e chaves/índices únicos via SQL do catálogo do SGBD.
+ *
+ * keysSql deve retornar TABLE_NAME, INDEX_NAME, COLUMN_NAME, IS_PRIMARY, ordenado pela posição da coluna no índice.
+ * foreignKeysSql deve retornar TABLE_NAME, FK_NAME, PKTABLE_NAME, FKCOLUMN_NAME, PKCOLUMN_NAME, na mesma ordenação.
+ * statisticsSql, quando disponível, deve retornar TABLE_NAME, ROW_COUNT, BYTE_COUNT (nulos viram 0).
+ */
+public abstract class BulkCatalogReader implements CatalogReader {
+
+    protected abstract String keysSql();
+
+    protected abstract String foreignKeysSql();
+
+    protected String statisticsSql() {
+        return null;
+    }
+
+    protected void bindSchema(PreparedStatement stmt, String schema) throws SQLException {
+    }
+
+    @Override
+    public List<TableDefinition> readTables(Connection connection, String catalog, String schema) throws SQLException {
+        DatabaseMetaData metadata = connection.getMetaData();
+        Map<String, TableDefinitionBuilder> tables = JdbcCatalogReader.readTableNames(metadata, catalog, schema);
+
+        // Columns
+        try (ResultSet colRs = metadata.getColumns(catalog, schema, "%", "%")) {
+            while (colRs.next()) {
+                TableDefinitionBuilder table = tables.get(colRs.getString("TABLE_NAME"));
+                if (table != null) {
+                    table.addColumn(JdbcCatalogReader.readColumn(colRs));
+                }
+            }
+        }
+
+        // Primary Keys and unique constraints
+        Map<String, List<String>> primaryKeys = new HashMap<>();
+        Map<String, Map<String, List<String>>> uniqueIndexes = new HashMap<>();
+        try (PreparedStatement stmt = connection.prepareStatement(keysSql())) {
+            bindSchema(stmt, schema);
+            try (ResultSet keyRs = stmt.executeQuery()) {
+                while (keyRs.next()) {
+                    String tableName = keyRs.getString("TABLE_NAME");
+                    String columnName = keyRs.getString("COLUMN_NAME");
+                    if (keyRs.getBoolean("IS_PRIMARY")) {
+                        primaryKeys.computeIfAbsent(tableName, k -> new ArrayList<>()).add(columnName);
+                    } else {
+                        uniqueIndexes.computeIfAbsent(tableName, k -> new LinkedHashMap<>())
+                                .computeIfAbsent(keyRs.getString("INDEX_NAME"), k -> new ArrayList<>())
+                                .add(columnName);
+                    }
+                }
+            }
+        }
+
+        // Foreign Keys
+        Map<String, Map<String, ForeignKeyDefinitionBuilder>> foreignKeys = new HashMap<>();
+        try (PreparedStatement stmt = connection.prepareStatement(foreignKeysSql())) {
+            bindSchema(stmt, schema);
+            try (ResultSet fkRs = stmt.executeQuery()) {
+                while (fkRs.next()) {
+                    String pkTableName = fkRs.getString("PKTABLE_NAME");
+                    foreignKeys.computeIfAbsent(fkRs.getString("TABLE_NAME"), k -> new LinkedHashMap<>())
+                            .computeIfAbsent(fkRs.getString("FK_NAME"), name -> new ForeignKeyDefinitionBuilder(name, pkTableName))
+                            .addColumnPair(fkRs.getString("FKCOLUMN_NAME"), fkRs.getString("PKCOLUMN_NAME"));
+                }
+            }
+        }
+
+        for (var entry : tables.entrySet()) {
+            String tableName = entry.getKey();
+            List<String> tablePkCols = primaryKeys.getOrDefault(tableName, new ArrayList<>());
+
+            // Mesmo critério da leitura via getIndexInfo: colunas da chave primária não entram nas restrições únicas
+            List<List<String>> uniqueConstraints = new ArrayList<>();
+            for (List<String> columns : uniqueIndexes.getOrDefault(tableName, Map.of()).values()) {
+                List<String> constraint = columns.stream().filter(c -> !tablePkCols.contains(c)).toList();
+                if (!constraint.isEmpty()) {
+                    uniqueConstraints.add(new ArrayList<>(constraint));
+                }
+            }
+
+            entry.getValue()
+                    .setPrimaryKeyColumns(tablePkCols)
+                    .setUniqueConstraints(uniqueConstraints)
+                    .setForeignKeys(foreignKeys.getOrDefault(tableName, Map.of()).values().stream()
+                            .map(ForeignKeyDefinitionBuilder::build)
+                            .toList());
+        }
+
+        return JdbcCatalogReader.build(tables);
+    }
+
+    @Override
+    public Map<String, TableStatistics> readStatistics(Connection connection, String catalog, String schema) throws SQLException {
+        if (statisticsSql() == null) {
+            return Map.of();
+        }
+
+        Map<String, TableStatistics> statistics = new LinkedHashMap<>();
+        try (PreparedStatement stmt = connection.prepareStatement(statisticsSql())) {
+            bindSchema(stmt, schema);
+            try (ResultSet statsRs = stmt.executeQuery()) {
+                while (statsRs.next()) {
+                    statistics.put(
+                            statsRs.getString("TABLE_NAME"),
+                            new TableStatistics(Math.max(0, statsRs.getLong("ROW_COUNT")), Math.max(0, statsRs.getLong("BYTE_COUNT")))
+                    );
+                }
+            }
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,19 @@
+package com.gabrielrq.database_converter.service.catalog;
+
+import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.domain.TableStatistics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+public interface CatalogReader {
+
+    List<TableDefinition> readTables(Connection connection, String catalog, String schema) throws SQLException;
+
+    /* Estimativas de tamanho por tabela; leitores sem estatísticas baratas não retornam nada */
+    default Map<String, TableStatistics> readStatistics(Connection connection, String catalog, String schema) throws SQLException {
+        return Map.of();
+    }
+}
@@ -0,0 +1,61 @@
+package com.gabrielrq.database_converter.service.catalog;
+
+public class FirebirdCatalogReader extends BulkCatalogReader {
+
+    private static final String KEYS_SQL = """
+            SELECT TRIM(i.RDB$RELATION_NAME) AS TABLE_NAME, TRIM(i.RDB$INDEX_NAME) AS INDEX_NAME,
+                   TRIM(s.RDB$FIELD_NAME) AS COLUMN_NAME,
+                   CASE WHEN rc.RDB$CONSTRAINT_TYPE = 'PRIMARY KEY' THEN TRUE ELSE FALSE END AS IS_PRIMARY
+            FROM RDB$INDICES i
+            JOIN RDB$INDEX_SEGMENTS s ON s.RDB$INDEX_NAME = i.RDB$INDEX_NAME
+            LEFT JOIN RDB$RELATION_CONSTRAINTS rc ON rc.RDB$INDEX_NAME = i.RDB$INDEX_NAME
+            WHERE i.RDB$UNIQUE_FLAG = 1 AND COALESCE(i.RDB$SYSTEM_FLAG, 0) = 0
+            ORDER BY i.RDB$RELATION_NAME, i.RDB$INDEX_NAME, s.RDB$FIELD_POSITION
+            """;
+
+    private static final String FOREIGN_KEYS_SQL = """
+            SELECT TRIM(rc.RDB$RELATION_NAME) AS TABLE_NAME, TRIM(rc.RDB$CONSTRAINT_NAME) AS FK_NAME,
+                   TRIM(pk.RDB$RELATION_NAME) AS PKTABLE_NAME,
+                   TRIM(fs.RDB$FIELD_NAME) AS FKCOLUMN_NAME, TRIM(ps.RDB$FIELD_NAME) AS PKCOLUMN_NAME
+            FROM RDB$RELATION_CONSTRAINTS rc
+            JOIN RDB$REF_CONSTRAINTS ref ON ref.RDB$CONSTRAINT_NAME = rc.RDB$CONSTRAINT_NAME
+            JOIN RDB$RELATION_CONSTRAINTS pk ON pk.RDB$CONSTRAINT_NAME = ref.RDB$CONST_NAME_UQ
+            JOIN RDB$INDEX_SEGMENTS fs ON fs.RDB$INDEX_NAME = rc.RDB$INDEX_NAME
+            JOIN RDB$INDEX_SEGMENTS ps ON ps.RDB$INDEX_NAME = pk.RDB$INDEX_NAME AND ps.RDB$FIELD_POSITION = fs.RDB$FIELD_POSITION
+            WHERE rc.RDB$CONSTRAINT_TYPE = 'FOREIGN KEY'
+            ORDER BY rc.RDB$RELATION_NAME, rc.RDB$CONSTRAINT_NAME, fs.RDB$FIELD_POSITION
+            """;
+
+    /*
+     * O Firebird não guarda contagem de linhas: a seletividade do índice da chave primária (1 / chaves distintas)
+     * dá a estimativa, e o tamanho é aproximado pela largura declarada das colunas. Depende de SET STATISTICS recente.
+     */
+    private static final String STATISTICS_SQL = """
+            SELECT TRIM(rc.RDB$RELATION_NAME) AS TABLE_NAME,
+                   CAST(1 / NULLIF(i.RDB$STATISTICS, 0) AS BIGINT) AS ROW_COUNT,
+                   CAST(1 / NULLIF(i.RDB$STATISTICS, 0) AS BIGINT) * (
+                       SELECT SUM(f.RDB$FIELD_LENGTH)
+                       FROM RDB$RELATION_FIELDS rf
+                       JOIN RDB$FIELDS f ON f.RDB$FIELD_NAME = rf.RDB$FIELD_SOURCE
+                       WHERE rf.RDB$RELATION_NAME = rc.RDB$RELATION_NAME
+                   ) AS BYTE_COUNT
+            FROM RDB$RELATION_CONSTRAINTS rc
+            JOIN RDB$INDICES i ON i.RDB$INDEX_NAME = rc.RDB$INDEX_NAME
+            WHERE rc.RDB$CONSTRAINT_TYPE = 'PRIMARY KEY'
+            """;
+
+    @Override
+    protected String keysSql() {
+        return KEYS_SQL;
+    }
+
+    @Override
+    protected String foreignKeysSql() {
+        return FOREIGN_KEYS_SQL;
+    }
+
+    @Override
+    protected String statisticsSql() {
+        return STATISTICS_SQL;
+    }
+}
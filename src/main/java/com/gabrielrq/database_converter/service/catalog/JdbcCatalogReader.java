@@ -0,0 +1,176 @@
+package com.gabrielrq.database_converter.service.catalog;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.domain.builder.ColumnDefinitionBuilder;
+import com.gabrielrq.database_converter.domain.builder.ForeignKeyDefinitionBuilder;
+import com.gabrielrq.database_converter.domain.builder.TableDefinitionBuilder;
+import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
+import com.gabrielrq.database_converter.service.DatabaseConnectionService;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Leitura genérica via DatabaseMetaData: quatro consultas por tabela.
+ * Com uma configuração de conexão, as tabelas são divididas entre várias conexões lidas em paralelo.
+ */
+public class JdbcCatalogReader implements CatalogReader {
+
+    private final DbConnectionConfigDTO config;
+    private final int threads;
+
+    public JdbcCatalogReader() {
+        this(null, 1);
+    }
+
+    public JdbcCatalogReader(DbConnectionConfigDTO config, int threads) {
+        this.config = config;
+        this.threads = threads;
+    }
+
+    @Override
+    public List<TableDefinition> readTables(Connection connection, String catalog, String schema) throws SQLException {
+        Map<String, TableDefinitionBuilder> tables = readTableNames(connection.getMetaData(), catalog, schema);
+        List<String> tableNames = new ArrayList<>(tables.keySet());
+
+        int workers = Math.min(threads, tableNames.size());
+        if (config == null || workers <= 1) {
+            DatabaseMetaData metadata = connection.getMetaData();
+            for (String tableName : tableNames) {
+                readTable(metadata, catalog, schema, tableName, tables.get(tableName));
+            }
+            return build(tables);
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                // Cada conexão lê uma fatia intercalada das tabelas
+                List<String> slice = new ArrayList<>();
+                for (int i = worker; i < tableNames.size(); i += workers) {
+                    slice.add(tableNames.get(i));
+                }
+                futures.add(executor.submit(() -> {
+                    try (Connection workerConnection = DatabaseConnectionService.createConnection(config)) {
+                        DatabaseMetaData metadata = workerConnection.getMetaData();
+                        for (String tableName : slice) {
+                            readTable(metadata, catalog, schema, tableName, tables.get(tableName));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Leitura de metadados interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Falha na leitura de metadados. Detalhe: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        return build(tables);
+    }
+
+    static Map<String, TableDefinitionBuilder> readTableNames(DatabaseMetaData metadata, String catalog, String schema) throws SQLException {
+        Map<String, TableDefinitionBuilder> tables = new LinkedHashMap<>();
+        try (ResultSet tableRs = metadata.getTables(catalog, schema, null, new String[]{"TABLE"})) {
+            while (tableRs.next()) {
+                String tableName = tableRs.getString("TABLE_NAME");
+                tables.put(tableName, new TableDefinitionBuilder()
+                        .setName(tableName)
+                        .setSchema(tableRs.getString("TABLE_SCHEM")));
+            }
+        }
+        return tables;
+    }
+
+    static List<TableDefinition> build(Map<String, TableDefinitionBuilder> tables) {
+        return tables.values().stream().map(TableDefinitionBuilder::build).toList();
+    }
+
+    static ColumnDefinition readColumn(ResultSet colRs) throws SQLException {
+        return new ColumnDefinitionBuilder()
+                .setName(colRs.getString("COLUMN_NAME"))
+                .setGenericType(colRs.getInt("DATA_TYPE"))
+                .setOriginType(colRs.getString("TYPE_NAME"))
+                .setTargetType(null)
+                .setDefaultValue(colRs.getString("COLUMN_DEF"))
+                .setLength(colRs.getInt("COLUMN_SIZE"))
+                .setPrecision(colRs.getInt("COLUMN_SIZE"))
+                .setScale(colRs.getInt("DECIMAL_DIGITS"))
+                .setNullable(colRs.getString("IS_NULLABLE").equalsIgnoreCase("YES"))
+                .setAutoIncrement(colRs.getString("IS_AUTOINCREMENT").equalsIgnoreCase("YES"))
+                .setOrdinalPosition(colRs.getInt("ORDINAL_POSITION"))
+                .build();
+    }
+
+    private void readTable(DatabaseMetaData metadata, String catalog, String schema, String tableName, TableDefinitionBuilder table) throws SQLException {
+        List<String> tablePkCols = new ArrayList<>();
+
+        // Primary Keys
+        try (ResultSet pkRs = metadata.getPrimaryKeys(catalog, schema, tableName)) {
+            while (pkRs.next()) {
+                tablePkCols.add(pkRs.getString("COLUMN_NAME"));
+            }
+        }
+        table.setPrimaryKeyColumns(tablePkCols);
+
+        // Columns
+        try (ResultSet colRs = metadata.getColumns(catalog, schema, tableName, null)) {
+            while (colRs.next()) {
+                table.addColumn(readColumn(colRs));
+            }
+        }
+
+        // Foreign Keys
+        Map<String, ForeignKeyDefinitionBuilder> fkMap = new LinkedHashMap<>();
+        try (ResultSet fkRs = metadata.getImportedKeys(catalog, schema, tableName)) {
+            while (fkRs.next()) {
+                String fkName = fkRs.getString("FK_NAME");
+                String pkTableName = fkRs.getString("PKTABLE_NAME");
+                String fkColumn = fkRs.getString("FKCOLUMN_NAME");
+                String pkColumn = fkRs.getString("PKCOLUMN_NAME");
+
+                fkMap.computeIfAbsent(fkName, name -> new ForeignKeyDefinitionBuilder(name, pkTableName))
+                        .addColumnPair(fkColumn, pkColumn);
+            }
+            table.setForeignKeys(
+                    fkMap.values().stream()
+                            .map(ForeignKeyDefinitionBuilder::build)
+                            .toList()
+            );
+        }
+
+        // Unique constraints
+        Map<String, List<String>> constraintMap = new LinkedHashMap<>();
+        try (ResultSet uniqueRs = metadata.getIndexInfo(catalog, schema, tableName, true, false)) {
+            while (uniqueRs.next()) {
+                if (uniqueRs.getBoolean("NON_UNIQUE")) continue;
+
+                String indexName = uniqueRs.getString("INDEX_NAME");
+                String columnName = uniqueRs.getString("COLUMN_NAME");
+
+                if (indexName == null || columnName == null || tablePkCols.contains(columnName))
+                    continue;
+
+                constraintMap.computeIfAbsent(indexName, k -> new ArrayList<>())
+                        .add(columnName);
+            }
+            table.setUniqueConstraints(constraintMap.values().stream().toList());
+        }
+    }
+}
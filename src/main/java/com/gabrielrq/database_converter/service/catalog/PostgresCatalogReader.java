@@ -0,0 +1,62 @@
+package com.gabrielrq.database_converter.service.catalog;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class PostgresCatalogReader extends BulkCatalogReader {
+
+    private static final String KEYS_SQL = """
+            SELECT t.relname AS TABLE_NAME, i.relname AS INDEX_NAME, a.attname AS COLUMN_NAME, ix.indisprimary AS IS_PRIMARY
+            FROM pg_catalog.pg_index ix
+            JOIN pg_catalog.pg_class t ON t.oid = ix.indrelid
+            JOIN pg_catalog.pg_class i ON i.oid = ix.indexrelid
+            JOIN pg_catalog.pg_namespace n ON n.oid = t.relnamespace
+            JOIN LATERAL unnest(ix.indkey) WITH ORDINALITY AS k(attnum, position) ON true
+            JOIN pg_catalog.pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum
+            WHERE n.nspname = ? AND ix.indisunique
+            ORDER BY t.relname, i.relname, k.position
+            """;
+
+    private static final String FOREIGN_KEYS_SQL = """
+            SELECT t.relname AS TABLE_NAME, c.conname AS FK_NAME, rt.relname AS PKTABLE_NAME,
+                   a.attname AS FKCOLUMN_NAME, ra.attname AS PKCOLUMN_NAME
+            FROM pg_catalog.pg_constraint c
+            JOIN pg_catalog.pg_class t ON t.oid = c.conrelid
+            JOIN pg_catalog.pg_namespace n ON n.oid = t.relnamespace
+            JOIN pg_catalog.pg_class rt ON rt.oid = c.confrelid
+            JOIN LATERAL unnest(c.conkey, c.confkey) WITH ORDINALITY AS k(attnum, refattnum, position) ON true
+            JOIN pg_catalog.pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = k.attnum
+            JOIN pg_catalog.pg_attribute ra ON ra.attrelid = c.confrelid AND ra.attnum = k.refattnum
+            WHERE c.contype = 'f' AND n.nspname = ?
+            ORDER BY t.relname, c.conname, k.position
+            """;
+
+    // reltuples é -1 em tabelas nunca analisadas (PG 14+); o tamanho total inclui TOAST e índices
+    private static final String STATISTICS_SQL = """
+            SELECT c.relname AS TABLE_NAME, GREATEST(c.reltuples, 0)::bigint AS ROW_COUNT,
+                   pg_catalog.pg_total_relation_size(c.oid) AS BYTE_COUNT
+            FROM pg_catalog.pg_class c
+            JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = ? AND c.relkind IN ('r', 'p')
+            """;
+
+    @Override
+    protected String keysSql() {
+        return KEYS_SQL;
+    }
+
+    @Override
+    protected String foreignKeysSql() {
+        return FOREIGN_KEYS_SQL;
+    }
+
+    @Override
+    protected String statisticsSql() {
+        return STATISTICS_SQL;
+    }
+
+    @Override
+    protected void bindSchema(PreparedStatement stmt, String schema) throws SQLException {
+        stmt.setString(1, schema != null ? schema : "public");
+    }
+}
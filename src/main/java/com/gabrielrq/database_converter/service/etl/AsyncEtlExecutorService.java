@@ -2,11 +2,13 @@ package com.gabrielrq.database_converter.service.etl;
 
 import com.gabrielrq.database_converter.domain.DatabaseDefinition;
 import com.gabrielrq.database_converter.domain.MigrationStatus;
+import com.gabrielrq.database_converter.domain.TableDefinition;
 import com.gabrielrq.database_converter.dto.ConsistencyValidationDataDTO;
 import com.gabrielrq.database_converter.domain.TransformationResult;
 import com.gabrielrq.database_converter.enums.EtlStep;
 import com.gabrielrq.database_converter.repository.EtlStatusRepository;
 import com.gabrielrq.database_converter.service.ConsistencyValidationService;
+import com.gabrielrq.database_converter.service.DatabaseConnectionService;
 import com.gabrielrq.database_converter.service.SseService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +16,8 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
 
 @Service
 public class AsyncEtlExecutorService {
@@ -25,6 +29,7 @@ public class AsyncEtlExecutorService {
     private final ConsistencyValidationService consistencyValidationService;
     private final EtlStatusRepository statusRepository;
     private final SseService sseService;
+    private final DatabaseConnectionService connectionService;
 
     public AsyncEtlExecutorService(
             DataExtractionService extractionService,
@@ -32,7 +37,8 @@ public class AsyncEtlExecutorService {
             DataLoadingService loadingService,
             ConsistencyValidationService consistencyValidationService,
             EtlStatusRepository statusRepository,
-            SseService sseService
+            SseService sseService,
+            DatabaseConnectionService connectionService
     ) {
         this.extractionService = extractionService;
         this.transformationService = transformationService;
@@ -40,17 +46,37 @@ public class AsyncEtlExecutorService {
         this.consistencyValidationService = consistencyValidationService;
         this.statusRepository = statusRepository;
         this.sseService = sseService;
+        this.connectionService = connectionService;
     }
 
     @Async("asyncEtlExecutor")
     public void startExtraction(MigrationStatus status) {
+        runExtraction(status, false);
+    }
+
+    @Async("asyncEtlExecutor")
+    public void resumeExtraction(MigrationStatus status) {
+        runExtraction(status, true);
+    }
+
+    private void runExtraction(MigrationStatus status, boolean resume) {
         sseService.sendMigrationStatusUpdate(status);
+        if (resume) {
+            status.setMessage(null);
+        }
         status.setStep(EtlStep.EXTRACTION_IN_PROGRESS);
         statusRepository.save(status);
 
         try {
             sseService.sendMigrationStatusUpdate(status);
-            DatabaseDefinition metadata = extractionService.extract(status.getId().toString(), status.getMetadata().getOriginConfig());
+            openConnections(status);
+            DatabaseDefinition metadata = extractionService.extract(
+                    status.getId().toString(),
+                    status.getMetadata().getOriginConfig(),
+                    status.getMetadata().getTableSpecs(),
+                    resume,
+                    status.getMetadata().getTarget()
+            );
             status.getMetadata().setDatabaseMetadata(metadata);
             status.setStep(EtlStep.EXTRACTION_FINISHED);
             statusRepository.save(status);
@@ -61,6 +87,7 @@ public class AsyncEtlExecutorService {
             status.setMessage(e.getMessage());
             statusRepository.save(status);
         } finally {
+            releaseConnections(status);
             sseService.sendMigrationStatusUpdate(status);
         }
     }
@@ -79,6 +106,13 @@ public class AsyncEtlExecutorService {
             );
             status.getMetadata().setDatabaseMetadata(result.metadata());
             status.getMetadata().setExecutionOrder(result.executionList());
+            status.getMetadata().setFailedTables(result.failedTables());
+            if (result.failedTables() != null && !result.failedTables().isEmpty()) {
+                logger.warn("Geração de SQL falhou para {} tabela(s): {}", result.failedTables().size(), result.failedTables().keySet());
+                status.setMessage("Falha na geração de SQL das tabelas: " + String.join(", ", new TreeSet<>(result.failedTables().keySet())));
+            } else {
+                status.setMessage(null);
+            }
             status.setStep(EtlStep.TRANSFORMATION_FINISHED);
             statusRepository.save(status);
             status.setStep(EtlStep.WAITING_FOR_LOAD_CONFIRMATION);
@@ -90,6 +124,7 @@ public class AsyncEtlExecutorService {
             status.setMessage(e.getMessage());
             statusRepository.save(status);
         } finally {
+            releaseConnections(status);
             sseService.sendMigrationStatusUpdate(status);
         }
     }
@@ -101,10 +136,15 @@ public class AsyncEtlExecutorService {
 
         try {
             sseService.sendMigrationStatusUpdate(status);
+            openConnections(status);
             loadingService.load(
                     status.getId().toString(),
                     status.getMetadata().getTargetConfig(),
-                    new TransformationResult(status.getMetadata().getDatabaseMetadata(), status.getMetadata().getExecutionOrder())
+                    new TransformationResult(
+                            status.getMetadata().getDatabaseMetadata(),
+                            status.getMetadata().getExecutionOrder(),
+                            status.getMetadata().getFailedTables()
+                    )
             );
             status.setStep(EtlStep.LOAD_FINISHED);
             statusRepository.save(status);
@@ -115,6 +155,50 @@ public class AsyncEtlExecutorService {
             status.setMessage(e.getMessage());
             statusRepository.save(status);
         } finally {
+            releaseConnections(status);
+            sseService.sendMigrationStatusUpdate(status);
+        }
+    }
+
+    @Async("asyncEtlExecutor")
+    public void startSync(MigrationStatus status) {
+        status.setStep(EtlStep.SYNC_IN_PROGRESS);
+        statusRepository.save(status);
+
+        try {
+            sseService.sendMigrationStatusUpdate(status);
+            openConnections(status);
+            String identifier = status.getId().toString();
+            List<TableDefinition> syncedTables = extractionService.extractDeltas(
+                    identifier,
+                    status.getMetadata().getOriginConfig(),
+                    status.getMetadata().getDatabaseMetadata(),
+                    status.getMetadata().getTableSpecs()
+            );
+            List<TableDefinition> upsertTables = transformationService.transformDeltas(
+                    identifier,
+                    status.getMetadata().getDatabaseMetadata(),
+                    syncedTables,
+                    status.getMetadata().getTarget()
+            );
+            loadingService.loadDeltas(
+                    identifier,
+                    status.getMetadata().getTargetConfig(),
+                    status.getMetadata().getExecutionOrder(),
+                    upsertTables
+            );
+            status.setMessage("Tabelas sincronizadas: " + upsertTables.size());
+            status.setStep(EtlStep.SYNC_FINISHED);
+            status.setFinishedAt(LocalDateTime.now());
+            statusRepository.save(status);
+            logger.info("Sincronização incremental finalizada. Tabelas sincronizadas: {}", upsertTables.size());
+        } catch (Exception e) {
+            logger.error("Erro durante sincronização incremental", e);
+            status.setStep(EtlStep.ERROR);
+            status.setMessage(e.getMessage());
+            statusRepository.save(status);
+        } finally {
+            releaseConnections(status);
             sseService.sendMigrationStatusUpdate(status);
         }
     }
@@ -126,8 +210,9 @@ public class AsyncEtlExecutorService {
 
         try {
             sseService.sendMigrationStatusUpdate(status);
+            openConnections(status);
             ConsistencyValidationDataDTO validationData = consistencyValidationService.validate(
-                    status.getId().toString(), status.getMetadata().getOriginConfig(), status.getMetadata().getTargetConfig()
+                    status.getId().toString(), status.getMetadata().getOriginConfig(), status.getMetadata().getTargetConfig(), status.getMetadata().getTableSpecs()
             );
             status.setMessage(String.join(System.lineSeparator(), validationData.messages()));
             status.setStep(EtlStep.FINISHED);
@@ -140,8 +225,21 @@ public class AsyncEtlExecutorService {
             status.setMessage(e.getMessage());
             statusRepository.save(status);
         } finally {
+            releaseConnections(status);
             sseService.sendMigrationStatusUpdate(status);
             sseService.completeSseEmitter(status.getId());
         }
     }
+
+    private void openConnections(MigrationStatus status) {
+        connectionService.openPools(status.getId(), status.getMetadata().getOriginConfig(), status.getMetadata().getTargetConfig());
+    }
+
+    /*
+     * Cada etapa abre os pools ao começar e os libera ao terminar: nenhuma etapa encadeia a seguinte, e uma migração
+     * parada entre etapas (aguardando confirmação, carga finalizada) não segura conexões.
+     */
+    private void releaseConnections(MigrationStatus status) {
+        connectionService.closePools(status.getId());
+    }
 }
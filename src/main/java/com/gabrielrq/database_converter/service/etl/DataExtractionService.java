@@ -1,30 +1,69 @@
 package com.gabrielrq.database_converter.service.etl;
 
 
-import com.gabrielrq.database_converter.domain.builder.ColumnDefinitionBuilder;
-import com.gabrielrq.database_converter.domain.builder.ForeignKeyDefinitionBuilder;
-import com.gabrielrq.database_converter.domain.builder.TableDefinitionBuilder;
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
 import com.gabrielrq.database_converter.domain.DatabaseDefinition;
+import com.gabrielrq.database_converter.domain.KeyRange;
+import com.gabrielrq.database_converter.domain.SpillResult;
 import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.domain.TableManifest;
+import com.gabrielrq.database_converter.domain.TableStatistics;
+import com.gabrielrq.database_converter.domain.builder.DatabaseDefinitionBuilder;
+import com.gabrielrq.database_converter.domain.builder.TableDefinitionBuilder;
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
+import com.gabrielrq.database_converter.dto.TableExtractionSpecDTO;
+import com.gabrielrq.database_converter.enums.CopyMode;
+import com.gabrielrq.database_converter.enums.DatabaseDialect;
+import com.gabrielrq.database_converter.enums.ExecutorMode;
 import com.gabrielrq.database_converter.exception.ExtractionException;
 import com.gabrielrq.database_converter.service.DatabaseConnectionService;
 import com.gabrielrq.database_converter.service.JsonService;
+import com.gabrielrq.database_converter.service.catalog.CatalogReader;
+import com.gabrielrq.database_converter.service.catalog.FirebirdCatalogReader;
+import com.gabrielrq.database_converter.service.catalog.JdbcCatalogReader;
+import com.gabrielrq.database_converter.service.catalog.PostgresCatalogReader;
+import com.gabrielrq.database_converter.util.KeyRangeSplitter;
+import com.gabrielrq.database_converter.util.TableProjection;
+import com.gabrielrq.database_converter.util.migration.MigrationTaskDecorator;
+import com.gabrielrq.database_converter.util.migration.PermitTaskDecorator;
+import com.gabrielrq.database_converter.util.spill.CopyRowCodec;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.sql.*;
+import java.sql.Date;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
 @Service
 public class DataExtractionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataExtractionService.class);
+
     @Value("${migration.extract.threads:0}")
     private int threadPoolSize;
     @Value("${migration.extract.fetchSize:0}")
     private int fetchSize;
+    @Value("${migration.extract.split.rangeSize:0}")
+    private long splitRangeSize;
+    @Value("${migration.extract.split.maxRanges:0}")
+    private int splitMaxRanges;
+    @Value("${migration.extract.metadataThreads:1}")
+    private int metadataThreads;
+    @Value("${migration.extract.copy.mode:OFF}")
+    private CopyMode copyMode;
+    @Value("${migration.extract.consistentSnapshot:true}")
+    private boolean consistentSnapshot;
+    @Value("${migration.executor.mode:PLATFORM}")
+    private ExecutorMode executorMode;
 
     private final JsonService jsonService;
 
@@ -32,43 +71,242 @@ public class DataExtractionService {
         this.jsonService = jsonService;
     }
 
-    private void storeToJSON(String identifier, DbConnectionConfigDTO config, DatabaseDefinition metadata) {
+    /*
+     * Cada tabela (ou segmento) concluída grava um manifesto em "manifests/". Na retomada, tabelas e segmentos
+     * com manifesto e arquivo de dados presentes são mantidos, e só o restante é extraído novamente.
+     * Em origens Postgres, todos os workers importam o snapshot da conexão coordenadora e leem o mesmo instante.
+     */
+    private void storeToJSON(String identifier, DbConnectionConfigDTO config, Connection connection, DatabaseDefinition metadata, Map<String, TableExtractionSpecDTO> specs, Map<Integer, String> conversionMap, boolean resume) throws SQLException {
         Path outputPath = Path.of(identifier);
+        Path manifestsPath = outputPath.resolve("manifests");
+        if (!resume) {
+            jsonService.deleteDirectory(manifestsPath.toString());
+        }
         jsonService.write(metadata, outputPath.resolve("origin.meta").toString());
+        final String snapshot = exportSnapshot(connection);
+        boolean copyEnabled = copyMode != null && copyMode != CopyMode.OFF
+                && DatabaseDialect.fromProductName(connection.getMetaData().getDatabaseProductName()) == DatabaseDialect.POSTGRES;
+        final String quoteString = identifierQuote(connection);
 
-        int availableProcessors = Runtime.getRuntime().availableProcessors();
-        int poolSize = threadPoolSize > 0 ? threadPoolSize : Math.max(1, availableProcessors * 2);
-
-        try (ExecutorService executor = Executors.newFixedThreadPool(poolSize)) {
+        try (ExecutorService executor = newExecutor()) {
+            final Semaphore permits = newConnectionPermits();
             List<Future<?>> futures = new ArrayList<>();
             Map<String, Throwable> failedTables = new ConcurrentHashMap<>();
+            Map<TableDefinition, List<KeyRange>> tableRanges = new LinkedHashMap<>();
+            Map<String, Object> tableWatermarks = new HashMap<>();
+            List<ExtractionTask> tasks = new ArrayList<>();
+            int skippedTables = 0;
 
             for (final TableDefinition table : metadata.tables()) {
-                futures.add(
-                        executor.submit(() -> {
-//                            String schema = table.schema();
-//                            String tableName = table.name();
-
-//                            String fullTableName = (schema != null && !schema.isBlank())
-//                                    ? schema + "." + tableName
-//                                    : tableName;
-
-
-                            String sql = "SELECT * FROM " + table.name();
-                            try (
-                                    Connection connection = DatabaseConnectionService.createConnection(config);
-                                    Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-                            ) {
-                                stmt.setFetchSize(fetchSize);
-                                ResultSet rs = stmt.executeQuery(sql);
-                                jsonService.writeStream(rs, outputPath.resolve("tables/" + table.name()).toString(), table);
-                            } catch (SQLException e) {
-                                failedTables.put(table.name(), e);
-                            }
-                        })
+//                String schema = table.schema();
+//                String tableName = table.name();
+
+//                String fullTableName = (schema != null && !schema.isBlank())
+//                        ? schema + "." + tableName
+//                        : tableName;
+
+                String tableFile = outputPath.resolve("tables/" + table.name()).toString();
+                String tableManifest = manifestsPath.resolve(table.name()).toString();
+                if (resume && isComplete(tableManifest, tableFile)) {
+                    skippedTables++;
+                    continue;
+                }
+
+                // Marca d'água lida antes da extração: linhas alteradas durante a cópia são relidas na próxima sincronização
+                String watermarkColumn = watermarkColumn(specs, table);
+                final Object watermark = watermarkColumn != null
+                        ? resolveWatermark(connection, table, watermarkColumn, manifestsPath.resolve(table.name() + ".watermark").toString(), resume)
+                        : null;
+
+                List<KeyRange> ranges = planKeyRanges(connection, table, manifestsPath.resolve(table.name() + ".plan").toString(), resume);
+
+                long cost = metadata.statistics().getOrDefault(table.name(), TableStatistics.UNKNOWN).cost();
+                // Só as colunas com tipo equivalente no destino são lidas, já com o filtro de linhas da especificação
+                TableExtractionSpecDTO spec = TableProjection.findSpec(specs, table.name());
+                List<ColumnDefinition> columns = TableProjection.selectedColumns(table, conversionMap);
+                // Caminho rápido do Postgres: COPY em CSV decodificado direto para o spill (tabelas com tipos suportados)
+                final CopyRowCodec copyCodec = copyEnabled && !columns.isEmpty()
+                        ? CopyRowCodec.compile(TableDefinitionBuilder.from(table).setColumns(columns).build())
+                        : null;
+
+                if (ranges.isEmpty()) {
+                    jsonService.deleteLobs(tableFile);
+                    jsonService.deleteRawCopies(tableFile);
+                    String sql = TableProjection.selectSql(table, columns, spec, null, quoteString);
+                    tasks.add(new ExtractionTask(cost, () -> {
+                        SpillResult result = copyCodec != null
+                                ? extractTableWithCopy(config, snapshot, table, copyCodec, sql, false, tableFile, rawCopyFile(tableFile, 0), failedTables)
+                                : extractTable(config, snapshot, table, sql, null, false, tableFile, failedTables);
+                        if (result != null) {
+                            jsonService.write(TableManifest.of(table.name(), null, null, result, watermark), tableManifest);
+                        }
+                    }));
+                    continue;
+                }
+
+                // Cada faixa de chave vira uma tarefa independente com seu próprio segmento
+                String pkColumn = TableProjection.quote(table.primaryKeyColumns().getFirst(), quoteString);
+                String sql = TableProjection.selectSql(table, columns, spec, pkColumn + " BETWEEN ? AND ?", quoteString);
+                List<KeyRange> pending = new ArrayList<>();
+                for (KeyRange range : ranges) {
+                    if (!resume || !isComplete(segmentManifest(manifestsPath, table, range), segmentFile(tableFile, range))) {
+                        pending.add(range);
+                    }
+                }
+
+                // LOBs descarregados são compartilhados pelos segmentos: só podem ser limpos se nenhum segmento foi mantido
+                if (pending.size() == ranges.size()) {
+                    jsonService.deleteLobs(tableFile);
+                    jsonService.deleteRawCopies(tableFile);
+                }
+
+                for (final KeyRange range : pending) {
+                    String segmentFile = segmentFile(tableFile, range);
+                    String segmentManifest = segmentManifest(manifestsPath, table, range);
+                    // COPY não aceita parâmetros: os limites (numéricos) da faixa vão literais na consulta
+                    String copyQuery = TableProjection.selectSql(table, columns, spec, pkColumn + " BETWEEN " + range.lowerBound() + " AND " + range.upperBound(), quoteString);
+                    ParameterBinder binder = stmt -> {
+                        stmt.setLong(1, range.lowerBound());
+                        stmt.setLong(2, range.upperBound());
+                    };
+                    tasks.add(new ExtractionTask(cost / ranges.size(), () -> {
+                        SpillResult result = copyCodec != null
+                                ? extractTableWithCopy(config, snapshot, table, copyCodec, copyQuery, true, segmentFile, rawCopyFile(tableFile, range.index()), failedTables)
+                                : extractTable(config, snapshot, table, sql, binder, true, segmentFile, failedTables);
+                        if (result != null) {
+                            jsonService.write(TableManifest.of(table.name(), range.index(), range.upperBound(), result, null), segmentManifest);
+                        }
+                    }));
+                }
+                tableRanges.put(table, ranges);
+                tableWatermarks.put(table.name(), watermark);
+            }
+
+            if (resume) {
+                logger.info("Retomando extração: {} tabela(s) já concluída(s) mantida(s)", skippedTables);
+            }
+
+            // Maiores primeiro (LPT): evita que a tabela mais pesada comece por último e alongue o tempo total
+            tasks.sort(Comparator.comparingLong(ExtractionTask::cost).reversed());
+            for (ExtractionTask task : tasks) {
+                futures.add(executor.submit(decorate(task.work(), permits)));
+            }
+
+            awaitExtraction(executor, futures, failedTables);
+
+            for (var entry : tableRanges.entrySet()) {
+                TableDefinition table = entry.getKey();
+                long rowCount = 0;
+                List<String> segments = new ArrayList<>();
+                for (KeyRange range : entry.getValue()) {
+                    segments.add(segmentFile(outputPath.resolve("tables/" + table.name()).toString(), range));
+                    rowCount += jsonService.read(segmentManifest(manifestsPath, table, range), TableManifest.class).rowCount();
+                }
+
+                SpillResult merged = jsonService.mergeSegments(segments, outputPath.resolve("tables/" + table.name()).toString());
+                jsonService.write(
+                        TableManifest.of(table.name(), null, null, new SpillResult(rowCount, merged.byteCount(), merged.checksum()), tableWatermarks.get(table.name())),
+                        manifestsPath.resolve(table.name()).toString()
                 );
+                jsonService.deleteDirectory(manifestsPath.resolve(table.name() + ".segments").toString());
+            }
+
+            // Marcas d'água vêm dos manifestos, inclusive das tabelas mantidas de uma execução anterior
+            Map<String, Object> watermarks = new LinkedHashMap<>();
+            for (TableDefinition table : metadata.tables()) {
+                if (watermarkColumn(specs, table) != null) {
+                    TableManifest manifest = jsonService.read(manifestsPath.resolve(table.name()).toString(), TableManifest.class);
+                    watermarks.put(table.name(), manifest != null ? manifest.watermark() : null);
+                }
+            }
+            if (!watermarks.isEmpty()) {
+                jsonService.write(watermarks, outputPath.resolve("watermarks").toString());
             }
+        }
+    }
+
+    private boolean isComplete(String manifestFile, String dataFile) {
+        TableManifest manifest = jsonService.read(manifestFile, TableManifest.class);
+        return manifest != null && (manifest.rowCount() == 0 || jsonService.existsTableData(dataFile));
+    }
+
+    private static String segmentFile(String tableFile, KeyRange range) {
+        return tableFile + ".segments/" + "%05d".formatted(range.index());
+    }
+
+    private static String segmentManifest(Path manifestsPath, TableDefinition table, KeyRange range) {
+        return manifestsPath.resolve(table.name() + ".segments/" + "%05d".formatted(range.index())).toString();
+    }
+
+    private int poolSize() {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        return threadPoolSize > 0 ? threadPoolSize : Math.max(1, availableProcessors * 2);
+    }
+
+    /*
+     * Exporta o snapshot de uma transação REPEATABLE READ na conexão coordenadora, que precisa ficar aberta até os
+     * workers importarem o snapshot. Retorna null fora do Postgres ou se a exportação falhar (ex: réplica em recuperação).
+     */
+    String exportSnapshot(Connection connection) throws SQLException {
+        if (!consistentSnapshot || DatabaseDialect.fromProductName(connection.getMetaData().getDatabaseProductName()) != DatabaseDialect.POSTGRES) {
+            return null;
+        }
+
+        // Encerra a transação implícita da leitura do catálogo: o nível de isolamento só muda fora de transação
+        connection.rollback();
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        try (
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT pg_export_snapshot()")
+        ) {
+            rs.next();
+            String snapshot = rs.getString(1);
+            logger.info("Extração paralela usando o snapshot {}", snapshot);
+            return snapshot;
+        } catch (SQLException e) {
+            logger.warn("Não foi possível exportar o snapshot, cada worker lerá em sua própria transação. Detalhe: {}", e.getMessage());
+            connection.rollback();
+            return null;
+        }
+    }
+
+    /* SET TRANSACTION SNAPSHOT precisa ser o primeiro comando da transação e não aceita parâmetros */
+    static Connection importSnapshot(Connection connection, String snapshot) throws SQLException {
+        if (snapshot == null) {
+            return connection;
+        }
+
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+        }
+        return connection;
+    }
+
+    private ExecutorService newExecutor() {
+        return executorMode == ExecutorMode.VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newWorkStealingPool(poolSize());
+    }
+
+    /* Propaga o MDC da migração para as threads de extração e, no modo VIRTUAL, aguarda uma permissão de conexão */
+    private Runnable decorate(Runnable task, Semaphore permits) {
+        Runnable decorated = permits != null
+                ? new PermitTaskDecorator(permits).decorate(task)
+                : task;
+        return new MigrationTaskDecorator().decorate(decorated);
+    }
+
+    /*
+     * No modo VIRTUAL, cada execução da extração (uma por migração) tem as próprias permissões: as conexões de
+     * extração da migração, a mesma cota que DatabaseConnectionService reserva para ela no pool do endpoint.
+     */
+    private Semaphore newConnectionPermits() {
+        return executorMode == ExecutorMode.VIRTUAL ? new Semaphore(poolSize(), true) : null;
+    }
 
+    private void awaitExtraction(ExecutorService executor, List<Future<?>> futures, Map<String, Throwable> failedTables) {
+        try {
             executor.shutdown();
             boolean isTerminated = executor.awaitTermination(30, TimeUnit.MINUTES);
 
@@ -84,116 +322,348 @@ public class DataExtractionService {
             if (!failedTables.isEmpty()) {
                 throw new ExtractionException("Falha na extração dos dados: dados de uma ou mais tabelas não obtidos.");
             }
-
         } catch (InterruptedException | ExecutionException e) {
             throw new ExtractionException("Falha na extração dos dados: a execução das threads foi interrompida. Detalhe: " + e.getMessage());
         }
     }
 
-    public DatabaseDefinition parseMetadata(String dbName, Connection connection) throws SQLException {
-        DatabaseMetaData metadata = connection.getMetaData();
-        var catalog = connection.getCatalog();
-        var schema = connection.getSchema();
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
 
-        List<TableDefinition> tables = new ArrayList<>();
+    private record ExtractionTask(long cost, Runnable work) {
+    }
 
-        // Tables
-        try (ResultSet tableRs = metadata.getTables(catalog, schema, null, new String[]{"TABLE"})) {
-            while (tableRs.next()) {
-                String tableName = tableRs.getString("TABLE_NAME");
-                List<String> tablePkCols = new ArrayList<>();
+    private SpillResult extractTable(DbConnectionConfigDTO config, String snapshot, TableDefinition table, String sql, ParameterBinder binder, boolean segment, String filename, Map<String, Throwable> failedTables) {
+        try (
+                Connection connection = DatabaseConnectionService.createConnection(config);
+                PreparedStatement stmt = importSnapshot(connection, snapshot).prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ) {
+            stmt.setFetchSize(fetchSize);
+            if (binder != null) {
+                binder.bind(stmt);
+            }
+            ResultSet rs = stmt.executeQuery();
+            return segment ? jsonService.writeSegment(rs, filename, table) : jsonService.writeStream(rs, filename, table);
+        } catch (SQLException | RuntimeException e) {
+            failedTables.put(table.name(), e);
+            return null;
+        }
+    }
 
-                TableDefinitionBuilder table = new TableDefinitionBuilder()
-                        .setName(tableName)
-                        .setSchema(tableRs.getString("TABLE_SCHEM"));
+    private SpillResult extractTableWithCopy(DbConnectionConfigDTO config, String snapshot, TableDefinition table, CopyRowCodec codec, String query, boolean segment, String filename, String rawFile, Map<String, Throwable> failedTables) {
+        try (
+                Connection connection = DatabaseConnectionService.createConnection(config);
+                InputStream copyData = new PGCopyInputStream(copySession(importSnapshot(connection, snapshot)).unwrap(PGConnection.class), "COPY (" + query + ") TO STDOUT WITH (FORMAT csv)")
+        ) {
+            return jsonService.writeCopy(copyData, codec, filename, segment, rawFile);
+        } catch (SQLException | IOException | RuntimeException e) {
+            // Erro de decodificação de um valor falha só a tabela, como os erros de leitura
+            failedTables.put(table.name(), e);
+            return null;
+        }
+    }
 
+    /*
+     * O CopyRowCodec decodifica bytea em hex; a extração não depende do bytea_output configurado no servidor.
+     * SET LOCAL vale só para a transação (a conexão não é autocommit), então não sobra na conexão devolvida ao pool.
+     */
+    static Connection copySession(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SET LOCAL bytea_output = 'hex'");
+        }
+        return connection;
+    }
 
-                // Primary Keys
-                try (ResultSet pkRs = metadata.getPrimaryKeys(catalog, schema, tableName)) {
-                    while (pkRs.next()) {
-                        tablePkCols.add(pkRs.getString("COLUMN_NAME"));
-                    }
+    private String rawCopyFile(String tableFile, int index) {
+        return copyMode == CopyMode.RAW ? jsonService.rawCopyFile(tableFile, index) : null;
+    }
+
+    /*
+     * Extrai apenas as linhas com marca d'água entre a registrada na execução anterior (exclusive) e o máximo atual (inclusive).
+     * Os deltas são gravados em "deltas/", no mesmo formato de "tables/", e a nova marca d'água substitui a anterior.
+     */
+    public List<TableDefinition> extractDeltas(String identifier, DbConnectionConfigDTO config, DatabaseDefinition metadata, Map<String, TableExtractionSpecDTO> specs) {
+        Path outputPath = Path.of(identifier);
+        Map<String, Object> previousWatermarks = jsonService.readMap(outputPath.resolve("watermarks").toString());
+        Map<String, Object> watermarks = new LinkedHashMap<>(previousWatermarks);
+        List<TableDefinition> syncedTables = new ArrayList<>();
+
+        try (
+                Connection connection = DatabaseConnectionService.createConnection(config);
+                ExecutorService executor = newExecutor()
+        ) {
+            jsonService.deleteDirectory(outputPath.resolve("deltas").toString());
+            final Semaphore permits = newConnectionPermits();
+            final String quoteString = identifierQuote(connection);
+            // Marcas d'água e deltas lidos no mesmo snapshot: o intervalo de cada tabela corresponde exatamente ao lido
+            final String snapshot = exportSnapshot(connection);
+
+            List<Future<?>> futures = new ArrayList<>();
+            Map<String, Throwable> failedTables = new ConcurrentHashMap<>();
+
+            for (final TableDefinition table : metadata.tables()) {
+                String watermarkColumn = watermarkColumn(specs, table);
+                if (watermarkColumn == null) {
+                    continue;
                 }
-                table.setPrimaryKeyColumns(tablePkCols);
-
-                // Columns
-                try (ResultSet colRs = metadata.getColumns(catalog, schema, tableName, null)) {
-                    while (colRs.next()) {
-                        table.addColumn(
-                                new ColumnDefinitionBuilder()
-                                        .setName(colRs.getString("COLUMN_NAME"))
-                                        .setGenericType(colRs.getInt("DATA_TYPE"))
-                                        .setOriginType(colRs.getString("TYPE_NAME"))
-                                        .setTargetType(null)
-                                        .setDefaultValue(colRs.getString("COLUMN_DEF"))
-                                        .setLength(colRs.getInt("COLUMN_SIZE"))
-                                        .setPrecision(colRs.getInt("COLUMN_SIZE"))
-                                        .setScale(colRs.getInt("DECIMAL_DIGITS"))
-                                        .setNullable(colRs.getString("IS_NULLABLE").equalsIgnoreCase("YES"))
-                                        .setAutoIncrement(colRs.getString("IS_AUTOINCREMENT").equalsIgnoreCase("YES"))
-                                        .setOrdinalPosition(colRs.getInt("ORDINAL_POSITION"))
-                                        .build()
-                        );
-                    }
+
+                final int type = watermarkType(table, watermarkColumn);
+                final Object previous = previousWatermarks.get(table.name());
+                final Object current = queryWatermark(connection, table, watermarkColumn);
+                if (current == null || (previous != null && current.toString().equals(previous.toString()))) {
+                    continue;
                 }
 
-                // Foreign Keys
-                Map<String, ForeignKeyDefinitionBuilder> fkMap = new LinkedHashMap<>();
-                try (ResultSet fkRs = metadata.getImportedKeys(catalog, schema, tableName)) {
-                    while (fkRs.next()) {
-                        String fkName = fkRs.getString("FK_NAME");
-                        String pkTableName = fkRs.getString("PKTABLE_NAME");
-                        String fkColumn = fkRs.getString("FKCOLUMN_NAME");
-                        String pkColumn = fkRs.getString("PKCOLUMN_NAME");
-
-                        fkMap.computeIfAbsent(fkName, name -> new ForeignKeyDefinitionBuilder(name, pkTableName))
-                                .addColumnPair(fkColumn, pkColumn);
+                String quotedWatermark = TableProjection.quote(TableProjection.columnName(table, watermarkColumn), quoteString);
+                String sql = TableProjection.selectSql(
+                        table,
+                        TableProjection.selectedColumns(table, null),
+                        TableProjection.findSpec(specs, table.name()),
+                        (previous != null ? quotedWatermark + " > ? AND " : "") + quotedWatermark + " <= ?",
+                        quoteString
+                );
+                String deltaFile = outputPath.resolve("deltas/" + table.name()).toString();
+
+                futures.add(executor.submit(decorate(() -> extractTable(config, snapshot, table, sql, stmt -> {
+                    int index = 1;
+                    if (previous != null) {
+                        bindWatermark(stmt, index++, previous, type);
                     }
-                    table.setForeignKeys(
-                            fkMap.values().stream()
-                                    .map(ForeignKeyDefinitionBuilder::build)
-                                    .toList()
-                    );
-                }
+                    bindWatermark(stmt, index, current, type);
+                }, false, deltaFile, failedTables), permits)));
 
-                // Unique constraints
-                Map<String, List<String>> constraintMap = new LinkedHashMap<>();
-                try (ResultSet uniqueRs = metadata.getIndexInfo(catalog, schema, tableName, true, false)) {
-                    while (uniqueRs.next()) {
-                        if (uniqueRs.getBoolean("NON_UNIQUE")) continue;
+                watermarks.put(table.name(), current);
+                syncedTables.add(table);
+            }
 
-                        String indexName = uniqueRs.getString("INDEX_NAME");
-                        String columnName = uniqueRs.getString("COLUMN_NAME");
+            awaitExtraction(executor, futures, failedTables);
+        } catch (SQLException e) {
+            throw new ExtractionException("Falha na extração incremental. Detalhe: " + e.getMessage());
+        }
 
-                        if (indexName == null || columnName == null || tablePkCols.contains(columnName))
-                            continue;
+        // Só avança as marcas d'água depois que todos os deltas foram gravados
+        jsonService.write(watermarks, outputPath.resolve("watermarks").toString());
+        return syncedTables;
+    }
 
-                        constraintMap.computeIfAbsent(indexName, k -> new ArrayList<>())
-                                .add(columnName);
-                    }
-                    table.setUniqueConstraints(constraintMap.values().stream().toList());
+    private String watermarkColumn(Map<String, TableExtractionSpecDTO> specs, TableDefinition table) {
+        TableExtractionSpecDTO spec = TableProjection.findSpec(specs, table.name());
+        if (spec == null || spec.watermarkColumn() == null || spec.watermarkColumn().isBlank()) {
+            return null;
+        }
+        return spec.watermarkColumn();
+    }
+
+    private int watermarkType(TableDefinition table, String column) {
+        return table.columns().stream()
+                .filter(c -> c.name().equalsIgnoreCase(column))
+                .map(ColumnDefinition::genericType)
+                .findFirst()
+                .orElseThrow(() -> new ExtractionException("Coluna de marca d'água '" + column + "' não encontrada na tabela '" + table.name() + "'."));
+    }
+
+    private static String identifierQuote(Connection connection) throws SQLException {
+        return connection.getMetaData().getIdentifierQuoteString();
+    }
+
+    private static String quote(Connection connection, String identifier) throws SQLException {
+        return TableProjection.quote(identifier, identifierQuote(connection));
+    }
+
+    /* Inteiros são guardados como número; datas e timestamps no formato aceito por Date/Timestamp.valueOf */
+    private Object queryWatermark(Connection connection, TableDefinition table, String column) throws SQLException {
+        int type = watermarkType(table, column);
+
+        try (
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT MAX(" + quote(connection, TableProjection.columnName(table, column)) + ") FROM " + quote(connection, table.name())
+                )
+        ) {
+            if (!rs.next()) {
+                return null;
+            }
+
+            return switch (type) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> {
+                    long value = rs.getLong(1);
+                    yield rs.wasNull() ? null : value;
                 }
+                case Types.DATE -> {
+                    Date value = rs.getDate(1);
+                    yield value != null ? value.toString() : null;
+                }
+                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> {
+                    Timestamp value = rs.getTimestamp(1);
+                    yield value != null ? value.toString() : null;
+                }
+                default -> rs.getString(1);
+            };
+        }
+    }
 
-                tables.add(table.build());
+    private void bindWatermark(PreparedStatement stmt, int index, Object value, int type) throws SQLException {
+        switch (type) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> stmt.setLong(index, ((Number) value).longValue());
+            case Types.DATE -> stmt.setDate(index, Date.valueOf(value.toString()));
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> stmt.setTimestamp(index, Timestamp.valueOf(value.toString()));
+            default -> stmt.setString(index, value.toString());
+        }
+    }
+
+    /* Na retomada reaproveita a marca d'água da primeira tentativa, anterior a todos os segmentos já mantidos */
+    private Object resolveWatermark(Connection connection, TableDefinition table, String column, String watermarkFile, boolean resume) throws SQLException {
+        if (resume) {
+            Map<?, ?> stored = jsonService.read(watermarkFile, Map.class);
+            if (stored != null) {
+                return stored.get("value");
             }
         }
 
+        Object watermark = queryWatermark(connection, table, column);
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("value", watermark);
+        jsonService.write(stored, watermarkFile);
+        return watermark;
+    }
+
+    /* O plano de faixas é persistido para que a retomada use exatamente os mesmos segmentos, mesmo que MIN/MAX mudem */
+    private List<KeyRange> planKeyRanges(Connection connection, TableDefinition table, String planFile, boolean resume) throws SQLException {
+        if (resume) {
+            KeyRange[] plan = jsonService.read(planFile, KeyRange[].class);
+            if (plan != null) {
+                return List.of(plan);
+            }
+        }
+
+        List<KeyRange> ranges = planKeyRanges(connection, table);
+        if (!ranges.isEmpty()) {
+            jsonService.write(ranges, planFile);
+        }
+        return ranges;
+    }
+
+    private List<KeyRange> planKeyRanges(Connection connection, TableDefinition table) throws SQLException {
+        if (splitRangeSize <= 0 || table.primaryKeyColumns().size() != 1) {
+            return List.of();
+        }
+
+        String pkColumn = table.primaryKeyColumns().getFirst();
+        boolean isIntegralKey = table.columns().stream()
+                .filter(c -> c.name().equalsIgnoreCase(pkColumn))
+                .anyMatch(c -> switch (c.genericType()) {
+                    case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> true;
+                    default -> false;
+                });
+
+        if (!isIntegralKey) {
+            return List.of();
+        }
+
+        try (
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT MIN(" + quote(connection, pkColumn) + "), MAX(" + quote(connection, pkColumn) + ") FROM " + quote(connection, table.name())
+                )
+        ) {
+            if (!rs.next()) {
+                return List.of();
+            }
+
+            long min = rs.getLong(1);
+            if (rs.wasNull()) {
+                return List.of();
+            }
+            long max = rs.getLong(2);
+
+            List<KeyRange> ranges = KeyRangeSplitter.split(min, max, splitRangeSize, splitMaxRanges);
+            return ranges.size() > 1 ? ranges : List.of();
+        }
+    }
+
+    public DatabaseDefinition parseMetadata(String dbName, Connection connection) throws SQLException {
+        return parseMetadata(dbName, connection, null);
+    }
+
+    /* Com config, o caminho genérico pode abrir conexões extras para ler as tabelas em paralelo */
+    public DatabaseDefinition parseMetadata(String dbName, Connection connection, DbConnectionConfigDTO config) throws SQLException {
+        var catalog = connection.getCatalog();
+        var schema = connection.getSchema();
+        DatabaseDialect dialect = DatabaseDialect.fromProductName(connection.getMetaData().getDatabaseProductName());
+
+        CatalogReader fallback = new JdbcCatalogReader(config, metadataThreads);
+        CatalogReader reader = switch (dialect) {
+            case POSTGRES -> new PostgresCatalogReader();
+            case FIREBIRD -> new FirebirdCatalogReader();
+            case GENERIC -> fallback;
+        };
+
+        List<TableDefinition> tables;
+        try {
+            tables = reader.readTables(connection, catalog, schema);
+        } catch (SQLException e) {
+            if (reader == fallback) {
+                throw e;
+            }
+            logger.warn("Leitura do catálogo {} em lote falhou, usando DatabaseMetaData por tabela. Detalhe: {}", dialect, e.getMessage());
+            tables = fallback.readTables(connection, catalog, schema);
+        }
+
+        // Estatísticas só orientam o agendamento da extração: falha na leitura não interrompe a migração
+        Map<String, TableStatistics> statistics;
+        try {
+            statistics = reader.readStatistics(connection, catalog, schema);
+        } catch (SQLException e) {
+            logger.warn("Não foi possível ler as estatísticas das tabelas. Detalhe: {}", e.getMessage());
+            statistics = Map.of();
+        }
+
         return new DatabaseDefinition(
                 dbName,
                 schema,
                 tables,
-                Optional.ofNullable(connection.getClientInfo("characterEncoding")).orElse("utf-8")
+                Optional.ofNullable(connection.getClientInfo("characterEncoding")).orElse("utf-8"),
+                statistics
         );
     }
 
     public DatabaseDefinition extract(String identifier, DbConnectionConfigDTO config) {
+        return extract(identifier, config, Map.of());
+    }
+
+    public DatabaseDefinition extract(String identifier, DbConnectionConfigDTO config, Map<String, TableExtractionSpecDTO> specs) {
+        return extract(identifier, config, specs, false);
+    }
+
+    public DatabaseDefinition extract(String identifier, DbConnectionConfigDTO config, Map<String, TableExtractionSpecDTO> specs, boolean resume) {
+        return extract(identifier, config, specs, resume, null);
+    }
+
+    /* Com target, colunas sem tipo equivalente no mapa de conversão do destino não são lidas da origem */
+    public DatabaseDefinition extract(String identifier, DbConnectionConfigDTO config, Map<String, TableExtractionSpecDTO> specs, boolean resume, String target) {
         try (Connection connection = DatabaseConnectionService.createConnection(config)) {
-            var metadata = parseMetadata(config.name(), connection);
-            storeToJSON(identifier, config, metadata);
+            var metadata = project(parseMetadata(config.name(), connection, config), specs);
+            Map<Integer, String> conversionMap = target != null ? jsonService.readConversionMap(target) : null;
+            storeToJSON(identifier, config, connection, metadata, specs, conversionMap, resume);
             return metadata;
-        } catch (SQLException e) {
+        } catch (SQLException | IOException e) {
             throw new ExtractionException("Falha na extração de dados. Detalhe: " + e.getMessage());
         }
     }
 
+    /* Colunas fora da projeção deixam os metadados: não entram no DDL nem na validação estrutural */
+    private DatabaseDefinition project(DatabaseDefinition metadata, Map<String, TableExtractionSpecDTO> specs) {
+        if (specs == null || specs.isEmpty()) {
+            return metadata;
+        }
+
+        return DatabaseDefinitionBuilder.from(metadata)
+                .setTables(metadata.tables().stream()
+                        .map(table -> TableProjection.project(table, TableProjection.findSpec(specs, table.name())))
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .build();
+    }
+
 }
@@ -1,36 +1,55 @@
 package com.gabrielrq.database_converter.service.etl;
 
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
 import com.gabrielrq.database_converter.domain.TableDefinition;
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
 import com.gabrielrq.database_converter.domain.TransformationResult;
+import com.gabrielrq.database_converter.enums.DatabaseDialect;
 import com.gabrielrq.database_converter.exception.LoadingException;
+import com.gabrielrq.database_converter.service.DataFileService;
 import com.gabrielrq.database_converter.service.DatabaseConnectionService;
+import com.gabrielrq.database_converter.service.JsonService;
 import com.gabrielrq.database_converter.service.SqlService;
+import com.gabrielrq.database_converter.util.TableProjection;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Service
 public class DataLoadingService {
 
     private final SqlService sqlService;
+    private final JsonService jsonService;
+    private final DataFileService dataFileService;
 
-    public DataLoadingService(SqlService sqlService) {
+    public DataLoadingService(SqlService sqlService, JsonService jsonService, DataFileService dataFileService) {
         this.sqlService = sqlService;
+        this.jsonService = jsonService;
+        this.dataFileService = dataFileService;
     }
 
     public void load(String identifier, DbConnectionConfigDTO config, TransformationResult transformationOutput) {
+        // Sem o DDL/DML dessas tabelas a carga ficaria incompleta sem aviso
+        if (transformationOutput.failedTables() != null && !transformationOutput.failedTables().isEmpty()) {
+            throw new LoadingException("Carga recusada, geração de SQL falhou para as tabelas: " + String.join(", ", new TreeSet<>(transformationOutput.failedTables().keySet())));
+        }
         Path basePath = Path.of(identifier);
         JdbcTemplate template = DatabaseConnectionService.createJdbcTemplate(config);
         executeDDL(transformationOutput.executionList(), basePath, template);
-        executeDML(transformationOutput.executionList(), basePath, config);
+        executeDML(transformationOutput.executionList(), basePath, "dml", config);
     }
 
     private void executeDDL(List<TableDefinition> executionList, Path basePath, JdbcTemplate template) {
@@ -45,14 +64,28 @@ public class DataLoadingService {
         }
     }
 
-    private void executeDML(List<TableDefinition> executionList, Path basePath, DbConnectionConfigDTO config) {
+    /* Upserts da sincronização incremental, executados na ordem de dependência da carga completa */
+    public void loadDeltas(String identifier, DbConnectionConfigDTO config, List<TableDefinition> executionList, List<TableDefinition> syncedTables) {
+        List<TableDefinition> tables = executionList.stream().filter(syncedTables::contains).toList();
+        executeDML(tables, Path.of(identifier), "dml-delta", config);
+    }
+
+    private void executeDML(List<TableDefinition> executionList, Path basePath, String dmlDirectory, DbConnectionConfigDTO config) {
         try (
                 Connection connection = DatabaseConnectionService.createConnection(config);
                 Statement stmt = connection.createStatement()
         ) {
             for (final var table : executionList) {
                 try {
-                    Path dmlPath = basePath.resolve("dml").resolve(/* table.schema() + "." + */ table.name() + ".sql");
+                    // Cópias brutas do COPY (Postgres -> Postgres) substituem o DML da carga completa
+                    List<Path> rawCopies = "dml".equals(dmlDirectory) ? rawCopies(basePath, table) : List.of();
+                    if (!rawCopies.isEmpty() && DatabaseDialect.fromProductName(connection.getMetaData().getDatabaseProductName()) == DatabaseDialect.POSTGRES) {
+                        copyIn(connection, table, rawCopies);
+                        connection.commit();
+                        continue;
+                    }
+
+                    Path dmlPath = basePath.resolve(dmlDirectory).resolve(/* table.schema() + "." + */ table.name() + ".sql");
                     sqlService.bufferReadAndExec(dmlPath, stmt);
                     connection.commit();
                 } catch (FileNotFoundException ignored) {
@@ -64,4 +97,22 @@ public class DataLoadingService {
             throw new LoadingException("Erro ao executar DML. Detalhe: " + e.getMessage());
         }
     }
+
+    private List<Path> rawCopies(Path basePath, TableDefinition table) {
+        return jsonService.listRawCopies(basePath.resolve("tables/" + table.name()).toString());
+    }
+
+    /* O CSV bruto traz as colunas lidas na extração: as mapeáveis no destino, na ordem de posição */
+    private void copyIn(Connection connection, TableDefinition table, List<Path> rawCopies) throws SQLException, IOException {
+        String columns = TableProjection.selectedColumns(table, null).stream()
+                .map(ColumnDefinition::name)
+                .collect(Collectors.joining(", "));
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+        for (Path rawCopy : rawCopies) {
+            try (InputStream in = new BufferedInputStream(dataFileService.openInput(rawCopy))) {
+                copyManager.copyIn("COPY " + table.name() + " (" + columns + ") FROM STDIN WITH (FORMAT csv)", in);
+            }
+        }
+    }
 }
@@ -52,15 +52,24 @@ public class DataTransformationService {
             var targetMetadata = mapTargetTypes(metadata, targetConversioMap);
             Path outputPath = Path.of(identifier);
             jsonService.write(targetMetadata, outputPath.resolve("target.meta").toString());
-            sqlService.generate(identifier, targetMetadata, targetConversioMap, target);
+            Map<String, String> failedTables = sqlService.generate(identifier, targetMetadata, targetConversioMap, target);
 
             List<TableDefinition> orderedTables = TableDependencyResolver.sortTablesByDependency(targetMetadata.tables());
             jsonService.write(orderedTables.stream().map(TableDefinition::name).toList(), outputPath.resolve("target.load_order").toString());
 
-            return new TransformationResult(targetMetadata, orderedTables);
+            return new TransformationResult(targetMetadata, orderedTables, failedTables != null ? failedTables : Map.of());
         } catch (IOException e) {
             throw new TransformationException("Falha na transformação. Detalhes: " + e.getMessage());
         }
     }
 
+    /* Tabelas recebidas da extração incremental são resolvidas nos metadados de destino, já com os tipos convertidos */
+    public List<TableDefinition> transformDeltas(String identifier, DatabaseDefinition targetMetadata, List<TableDefinition> syncedTables, String target) {
+        List<TableDefinition> tables = targetMetadata.tables().stream()
+                .filter(syncedTables::contains)
+                .toList();
+        sqlService.generateUpsertDML(identifier, tables, target);
+        return tables;
+    }
+
 }
@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.TreeSet;
 import java.util.UUID;
 
 @Service
@@ -37,6 +38,7 @@ public class EtlService {
                     .setTarget(startMigrationRequestDTO.target())
                     .setOriginConfig(startMigrationRequestDTO.originConfig())
                     .setTargetConfig(startMigrationRequestDTO.targetConfig())
+                    .setTableSpecs(startMigrationRequestDTO.tables())
                     .build();
 
             status.setName(startMigrationRequestDTO.name());
@@ -62,11 +64,28 @@ public class EtlService {
         });
     }
 
+    public void resumeExtraction(UUID id) {
+        MigrationLogger.withMigration(id, () -> {
+            MigrationStatus status = statusRepository.find(id);
+
+            if (status.getStep() != EtlStep.ERROR || status.getMetadata().getDatabaseMetadata() != null) {
+                logger.error("Extração não pode ser retomada");
+                throw new InvalidMigrationStateException("Migração com ID '" + status.getId() + "' não pode retomar a extração, pois ela não falhou ou já foi finalizada.");
+            }
+
+            logger.info("Retomando extração a partir dos manifestos");
+            asyncEtlExecutorService.resumeExtraction(status);
+        });
+    }
+
     public void startTransformation(UUID id) {
         MigrationLogger.withMigration(id, () -> {
             MigrationStatus status = statusRepository.find(id);
 
-            if (status.getStep() != EtlStep.EXTRACTION_FINISHED) {
+            // Transformação com tabelas sem SQL gerado pode ser repetida antes da carga
+            boolean retryFailedTables = (status.getStep() == EtlStep.WAITING_FOR_LOAD_CONFIRMATION || status.getStep() == EtlStep.TRANSFORMATION_FINISHED)
+                    && !status.getMetadata().getFailedTables().isEmpty();
+            if (status.getStep() != EtlStep.EXTRACTION_FINISHED && !retryFailedTables) {
                 logger.error("Incapaz de iniciar transformação, possui extração pendente ou transformação já finalizada");
                 throw new InvalidMigrationStateException("Migração com ID '" + status.getId() + "' não pode iniciar transformação pois possui extração pendente, ou possui transformação já finalizada.");
             }
@@ -85,6 +104,12 @@ public class EtlService {
                 throw new InvalidMigrationStateException("Migração com ID '" + status.getId() + "' não possui etapa de transformação finalizada, nem está aguardando para confirmação de carga, ou a extração já foi finalizada.");
             }
 
+            if (!status.getMetadata().getFailedTables().isEmpty()) {
+                String tables = String.join(", ", new TreeSet<>(status.getMetadata().getFailedTables().keySet()));
+                logger.error("Incapaz de iniciar carga, geração de SQL falhou para as tabelas: {}", tables);
+                throw new InvalidMigrationStateException("Migração com ID '" + status.getId() + "' não pode iniciar a carga, pois a geração de SQL falhou para as tabelas: " + tables + ". Execute a transformação novamente.");
+            }
+
             logger.info("Iniciando carga");
             asyncEtlExecutorService.startLoading(status);
         });
@@ -104,6 +129,27 @@ public class EtlService {
         });
     }
 
+    public void startSync(UUID id) {
+        MigrationLogger.withMigration(id, () -> {
+            MigrationStatus status = statusRepository.find(id);
+
+            if (status.getStep() != EtlStep.LOAD_FINISHED && status.getStep() != EtlStep.FINISHED && status.getStep() != EtlStep.SYNC_FINISHED) {
+                logger.error("Incapaz de iniciar sincronização incremental, a carga completa ainda não foi finalizada");
+                throw new InvalidMigrationStateException("Migração com ID '" + status.getId() + "' não pode ser sincronizada, pois a carga completa ainda não foi finalizada.");
+            }
+
+            boolean hasWatermark = status.getMetadata().getTableSpecs().values().stream()
+                    .anyMatch(spec -> spec != null && spec.watermarkColumn() != null && !spec.watermarkColumn().isBlank());
+            if (!hasWatermark) {
+                logger.error("Incapaz de iniciar sincronização incremental, nenhuma tabela possui coluna de marca d'água");
+                throw new InvalidMigrationStateException("Migração com ID '" + status.getId() + "' não possui tabelas com coluna de marca d'água configurada.");
+            }
+
+            logger.info("Iniciando sincronização incremental");
+            asyncEtlExecutorService.startSync(status);
+        });
+    }
+
     public MigrationStatus getCurrentStatus(UUID id) {
         return statusRepository.find(id);
     }
@@ -1,34 +1,130 @@
 package com.gabrielrq.database_converter.util;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public class FirebirdBlobHelper {
 
+    // Cada chunk vira um literal x'..' de até 30 000 dígitos hex (< 64 KB)
+    private static final int CHUNK_BYTES = 15_000;
+    private static final String CHUNK_START = "CAST(x'";
+    private static final String CHUNK_END = "' AS BLOB SUB_TYPE TEXT)";
+    private static final String BINARY_CHUNK_END = "' AS BLOB SUB_TYPE BINARY)";
+    private static final String CHUNK_SEPARATOR = " || ";
+
     public static String toFirebirdBlobLiteral(String text) {
+        StringBuilder out = new StringBuilder();
+        appendBlobLiteral(text, out);
+        return out.toString();
+    }
+
+    /*
+     * Escreve o texto como concatenação de literais hex de blob, codificando UTF-8 caractere a caractere direto no
+     * buffer de saída, sem String intermediária. Os chunks só quebram entre caracteres, nunca no meio de uma sequência
+     * UTF-8. Caracteres de controle são descartados, como nos literais de texto.
+     */
+    public static void appendBlobLiteral(CharSequence text, StringBuilder out) {
         if (text == null || text.isEmpty()) {
-            return "NULL";
+            out.append("NULL");
+            return;
         }
 
-        // Converte o texto para bytes UTF-8
-        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.ensureCapacity(out.length() + text.length() * 2 + (text.length() / CHUNK_BYTES + 1) * 40);
+        out.append(CHUNK_START);
+        int chunkBytes = 0;
+        boolean empty = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            int c = text.charAt(i);
+            if (c < 0x20 || c == 0x7F) {
+                continue;
+            }
 
-        // Converte cada byte para HEX
-        StringBuilder hexBuilder = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            hexBuilder.append(String.format("%02X", b));
+            int length;
+            if (c < 0x80) {
+                length = 1;
+            } else if (c < 0x800) {
+                length = 2;
+            } else if (Character.isHighSurrogate((char) c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                c = Character.toCodePoint((char) c, text.charAt(++i));
+                length = 4;
+            } else if (Character.isSurrogate((char) c)) {
+                c = '?'; // Surrogate isolado, mesma troca feita por String.getBytes
+                length = 1;
+            } else {
+                length = 3;
+            }
+
+            if (chunkBytes + length > CHUNK_BYTES) {
+                out.append(CHUNK_END).append(CHUNK_SEPARATOR).append(CHUNK_START);
+                chunkBytes = 0;
+            }
+            chunkBytes += length;
+            empty = false;
+
+            switch (length) {
+                case 1 -> HexEncoder.appendHex(c, out);
+                case 2 -> {
+                    HexEncoder.appendHex(0xC0 | (c >>> 6), out);
+                    HexEncoder.appendHex(0x80 | (c & 0x3F), out);
+                }
+                case 3 -> {
+                    HexEncoder.appendHex(0xE0 | (c >>> 12), out);
+                    HexEncoder.appendHex(0x80 | ((c >>> 6) & 0x3F), out);
+                    HexEncoder.appendHex(0x80 | (c & 0x3F), out);
+                }
+                default -> {
+                    HexEncoder.appendHex(0xF0 | (c >>> 18), out);
+                    HexEncoder.appendHex(0x80 | ((c >>> 12) & 0x3F), out);
+                    HexEncoder.appendHex(0x80 | ((c >>> 6) & 0x3F), out);
+                    HexEncoder.appendHex(0x80 | (c & 0x3F), out);
+                }
+            }
         }
-        String hex = hexBuilder.toString();
 
-        // Divide em chunks seguros (< 64 KB)
-        int chunkSize = 30_000;
-        List<String> chunks = new ArrayList<>();
-        for (int i = 0; i < hex.length(); i += chunkSize) {
-            chunks.add(hex.substring(i, Math.min(hex.length(), i + chunkSize)));
+        if (empty) {
+            out.setLength(out.length() - CHUNK_START.length());
+            out.append("NULL");
+            return;
+        }
+        out.append(CHUNK_END);
+    }
+
+    /*
+     * Literal de bytes do Firebird: x'..' direto quando cabe num literal, senão concatenação de blobs binários
+     * em chunks, como no texto. Os bytes vêm de um byte[] ou do base64 do arquivo JSON, sem decodificar para array.
+     */
+    public static void appendBinaryLiteral(byte[] bytes, StringBuilder out) {
+        appendBinaryLiteral(bytes.length, sink -> {
+            for (byte b : bytes) {
+                sink.accept(b);
+            }
+        }, out);
+    }
+
+    public static void appendBinaryLiteralFromBase64(CharSequence base64, StringBuilder out) {
+        appendBinaryLiteral(HexEncoder.base64DecodedLength(base64), sink -> HexEncoder.decodeBase64(base64, sink), out);
+    }
+
+    private static void appendBinaryLiteral(int length, Consumer<IntConsumer> bytes, StringBuilder out) {
+        out.ensureCapacity(out.length() + length * 2 + (length / CHUNK_BYTES + 1) * 40);
+        if (length <= CHUNK_BYTES) {
+            out.append("x'");
+            bytes.accept(b -> HexEncoder.appendHex(b, out));
+            out.append('\'');
+            return;
         }
 
-        // Gera o literal final concatenado com ||
-        return String.join(" || ", chunks.stream().map(s -> "CAST(x'" + s + "' AS BLOB SUB_TYPE TEXT)").toArray(String[]::new));
+        int[] chunkBytes = {0};
+        out.append(CHUNK_START);
+        bytes.accept(b -> {
+            if (chunkBytes[0] == CHUNK_BYTES) {
+                out.append(BINARY_CHUNK_END).append(CHUNK_SEPARATOR).append(CHUNK_START);
+                chunkBytes[0] = 0;
+            }
+            chunkBytes[0]++;
+            HexEncoder.appendHex(b, out);
+        });
+        out.append(BINARY_CHUNK_END);
     }
 }
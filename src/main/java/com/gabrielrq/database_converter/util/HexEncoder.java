@@ -0,0 +1,79 @@
+package com.gabrielrq.database_converter.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class HexEncoder {
+
+    // Dois dígitos hex por valor de byte, para converter cada byte com uma leitura de tabela
+    private static final char[] HEX_PAIRS = new char[512];
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        char[] digits = "0123456789ABCDEF".toCharArray();
+        for (int b = 0; b < 256; b++) {
+            HEX_PAIRS[b * 2] = digits[b >>> 4];
+            HEX_PAIRS[b * 2 + 1] = digits[b & 0x0F];
+        }
+
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    public static void appendHex(int b, StringBuilder out) {
+        out.append(HEX_PAIRS[(b & 0xFF) * 2]).append(HEX_PAIRS[(b & 0xFF) * 2 + 1]);
+    }
+
+    public static void appendHex(byte[] bytes, StringBuilder out) {
+        out.ensureCapacity(out.length() + bytes.length * 2);
+        for (byte b : bytes) {
+            appendHex(b, out);
+        }
+    }
+
+    /* Base64 padrão (o gerado pelo Jackson para campos binários), com ou sem "=" no final */
+    public static boolean isBase64(CharSequence text) {
+        int length = unpaddedLength(text);
+        if (length % 4 == 1 || (length != text.length() && text.length() % 4 != 0)) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 128 || BASE64_VALUES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* Quantia de bytes que o texto base64 representa; o texto deve ter passado por isBase64 */
+    public static int base64DecodedLength(CharSequence text) {
+        return (int) ((long) unpaddedLength(text) * 6 / 8);
+    }
+
+    /* Decodifica o base64 entregando byte a byte, sem montar o array decodificado */
+    public static void decodeBase64(CharSequence text, IntConsumer sink) {
+        int length = unpaddedLength(text);
+        int buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < length; i++) {
+            buffer = (buffer << 6) | BASE64_VALUES[text.charAt(i)];
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                sink.accept((buffer >>> bits) & 0xFF);
+            }
+        }
+    }
+
+    private static int unpaddedLength(CharSequence text) {
+        int length = text.length();
+        while (length > 0 && length > text.length() - 2 && text.charAt(length - 1) == '=') {
+            length--;
+        }
+        return length;
+    }
+}
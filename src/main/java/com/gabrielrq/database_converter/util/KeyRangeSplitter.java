@@ -0,0 +1,41 @@
+package com.gabrielrq.database_converter.util;
+
+import com.gabrielrq.database_converter.domain.KeyRange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class KeyRangeSplitter {
+
+    public static final int DEFAULT_MAX_RANGES = 256;
+    // Limite absoluto: cada faixa vira uma tarefa e um arquivo de segmento, mesmo com maxRanges maior
+    public static final int MAX_RANGES = 4096;
+
+    /* maxRanges <= 0 usa DEFAULT_MAX_RANGES; qualquer valor é limitado a MAX_RANGES */
+    public static List<KeyRange> split(long min, long max, long rangeSize, int maxRanges) {
+        if (rangeSize <= 0 || max < min) {
+            return List.of(new KeyRange(0, min, max));
+        }
+
+        // Aritmética sem sinal: max - min pode exceder Long.MAX_VALUE
+        long span = max - min;
+        long rangeCount = Long.divideUnsigned(span, rangeSize) + 1;
+        int rangeLimit = maxRanges > 0 ? Math.min(maxRanges, MAX_RANGES) : DEFAULT_MAX_RANGES;
+        if (Long.compareUnsigned(rangeCount, rangeLimit) > 0) {
+            rangeSize = Long.divideUnsigned(span, rangeLimit) + 1;
+        }
+
+        List<KeyRange> ranges = new ArrayList<>();
+        long lower = min;
+        while (true) {
+            boolean isLast = Long.compareUnsigned(max - lower, rangeSize - 1) <= 0;
+            long upper = isLast ? max : lower + rangeSize - 1;
+            ranges.add(new KeyRange(ranges.size(), lower, upper));
+
+            if (isLast) {
+                return ranges;
+            }
+            lower = upper + 1;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.gabrielrq.database_converter.util;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.ForeignKeyDefinition;
+import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.domain.builder.TableDefinitionBuilder;
+import com.gabrielrq.database_converter.dto.TableExtractionSpecDTO;
+import com.gabrielrq.database_converter.exception.ExtractionException;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class TableProjection {
+
+    public static TableExtractionSpecDTO findSpec(Map<String, TableExtractionSpecDTO> specs, String tableName) {
+        if (specs == null) {
+            return null;
+        }
+
+        return specs.entrySet().stream()
+                .filter(e -> e.getKey().equalsIgnoreCase(tableName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /*
+     * Mantém só as colunas listadas na especificação. Colunas de chave primária, chaves estrangeiras, restrições
+     * únicas e a marca d'água são sempre mantidas, pois o DDL e a sincronização incremental dependem delas.
+     */
+    public static TableDefinition project(TableDefinition table, TableExtractionSpecDTO spec) {
+        if (spec == null || spec.columns() == null || spec.columns().isEmpty()) {
+            return table;
+        }
+
+        Set<String> included = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        included.addAll(spec.columns());
+        for (String column : spec.columns()) {
+            if (table.columns().stream().noneMatch(c -> c.name().equalsIgnoreCase(column))) {
+                throw new ExtractionException("Coluna '" + column + "' informada para extração não existe na tabela '" + table.name() + "'.");
+            }
+        }
+
+        if (table.primaryKeyColumns() != null) {
+            included.addAll(table.primaryKeyColumns());
+        }
+        if (table.foreignKeys() != null) {
+            table.foreignKeys().stream().map(ForeignKeyDefinition::localColumns).forEach(included::addAll);
+        }
+        if (table.uniqueConstraints() != null) {
+            table.uniqueConstraints().forEach(included::addAll);
+        }
+        if (spec.watermarkColumn() != null && !spec.watermarkColumn().isBlank()) {
+            included.add(spec.watermarkColumn());
+        }
+
+        List<ColumnDefinition> columns = table.columns().stream()
+                .filter(c -> included.contains(c.name()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        return TableDefinitionBuilder.from(table).setColumns(columns).build();
+    }
+
+    /*
+     * Colunas lidas na origem, na ordem de posição: as sem tipo equivalente no destino são descartadas na geração do DML
+     * e não precisam ser transferidas. Sem tipo de destino resolvido nem mapa de conversão, descarta as que o spill ignora.
+     */
+    public static List<ColumnDefinition> selectedColumns(TableDefinition table, Map<Integer, String> conversionMap) {
+        return table.columns().stream()
+                .filter(c -> isMappable(c, conversionMap))
+                .sorted(Comparator.comparing(ColumnDefinition::ordinalPosition, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    private static boolean isMappable(ColumnDefinition column, Map<Integer, String> conversionMap) {
+        if (column.targetType() != null) {
+            return !"INVALID".equalsIgnoreCase(column.targetType());
+        }
+        if (conversionMap != null) {
+            return conversionMap.containsKey(column.genericType());
+        }
+        return column.genericType() == null || (column.genericType() != Types.OTHER && column.genericType() != Types.DISTINCT);
+    }
+
+    /*
+     * Filtro da especificação entre parênteses, combinado com a condição própria da consulta (faixa de chave, marca d'água).
+     * Tabela e colunas vão entre aspas com o nome exato do catálogo: palavras reservadas e nomes com caixa mista continuam válidos.
+     */
+    public static String selectSql(TableDefinition table, List<ColumnDefinition> columns, TableExtractionSpecDTO spec, String condition, String quoteString) {
+        // Sem nenhuma coluna mapeável, lê a tabela inteira como antes: as linhas ainda contam para o DML
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(columns.isEmpty() ? "*" : columns.stream().map(c -> quote(c.name(), quoteString)).collect(Collectors.joining(", ")))
+                .append(" FROM ")
+                .append(quote(table.name(), quoteString));
+
+        List<String> conditions = new ArrayList<>();
+        if (spec != null && spec.where() != null && !spec.where().isBlank()) {
+            conditions.add("(" + spec.where() + ")");
+        }
+        if (condition != null) {
+            conditions.add(condition);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.toString();
+    }
+
+    /* Identificador entre aspas do SGBD (DatabaseMetaData.getIdentifierQuoteString); sem aspas suportadas, o nome segue como está */
+    public static String quote(String identifier, String quoteString) {
+        if (quoteString == null || quoteString.isBlank()) {
+            return identifier;
+        }
+        return quoteString + identifier.replace(quoteString, quoteString + quoteString) + quoteString;
+    }
+
+    /* Nome da coluna como está no catálogo, para colunas informadas pelo usuário sem a caixa exata */
+    public static String columnName(TableDefinition table, String column) {
+        return table.columns().stream()
+                .map(ColumnDefinition::name)
+                .filter(name -> name.equalsIgnoreCase(column))
+                .findFirst()
+                .orElseThrow(() -> new ExtractionException("Coluna '" + column + "' não encontrada na tabela '" + table.name() + "'."));
+    }
+}
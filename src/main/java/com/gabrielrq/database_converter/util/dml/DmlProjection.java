@@ -0,0 +1,76 @@
+package com.gabrielrq.database_converter.util.dml;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.TableDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/*
+ * Plano de projeção das linhas do arquivo de dados para os comandos DML, montado uma vez por tabela.
+ * Cada posição de saída guarda a chave exata da coluna no arquivo e o formatador do valor, então cada linha custa
+ * uma busca por coluna, sem comparar nomes. A lista de colunas do comando sai do mesmo plano que os valores, na ordem
+ * da tabela, e não depende da ordem de iteração do Map da linha.
+ */
+public class DmlProjection {
+
+    private final List<String> columnNames;
+    private final String[] keys;
+    private final ValueFormatter[] formatters;
+    private final String columns;
+
+    private DmlProjection(List<String> columnNames, List<String> keys, List<ValueFormatter> formatters) {
+        this.columnNames = List.copyOf(columnNames);
+        this.keys = keys.toArray(String[]::new);
+        this.formatters = formatters.toArray(ValueFormatter[]::new);
+        this.columns = String.join(",", columnNames);
+    }
+
+    /*
+     * Colunas da tabela com tipo de destino válido e presentes no arquivo de dados (nomes comparados sem caixa).
+     * Colunas ausentes do arquivo ficam fora do comando, para que a lista de colunas e a de valores sempre coincidam.
+     * Uma coluna ausente (SpillWriter.skipColumn) falta em todas as linhas, então as chaves da primeira linha bastam.
+     */
+    public static DmlProjection compile(TableDefinition table, Set<String> spillKeys, Function<ColumnDefinition, ValueFormatter> formatterFor) {
+        TreeMap<String, String> keysByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String key : spillKeys) {
+            keysByName.putIfAbsent(key, key);
+        }
+
+        List<String> columnNames = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<ValueFormatter> formatters = new ArrayList<>();
+        for (ColumnDefinition column : table.columns()) {
+            String key = keysByName.get(column.name());
+            if ("INVALID".equalsIgnoreCase(column.targetType()) || key == null) {
+                continue;
+            }
+            columnNames.add(column.name());
+            keys.add(key);
+            formatters.add(formatterFor.apply(column));
+        }
+        return new DmlProjection(columnNames, keys, formatters);
+    }
+
+    public List<String> columnNames() {
+        return columnNames;
+    }
+
+    /* Nomes das colunas separados por vírgula, na mesma ordem de appendValues */
+    public String columns() {
+        return columns;
+    }
+
+    public void appendValues(Map<String, Object> row, StringBuilder out) {
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            formatters[i].format(row.get(keys[i]), out);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.gabrielrq.database_converter.util.dml;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+ * Agrupa as linhas de uma tabela em comandos de várias linhas: VALUES com várias tuplas no Postgres e EXECUTE BLOCK
+ * com um INSERT por linha no Firebird. Um comando fecha ao atingir rowsPerStatement linhas ou quando a próxima linha
+ * passaria de maxStatementBytes (UTF-8); uma linha sozinha maior que o limite sai num INSERT simples.
+ * Com uma linha por comando a saída é igual à de um INSERT por linha.
+ */
+public class MultiRowInsertWriter implements Closeable {
+
+    public static final String EXECUTE_BLOCK = "EXECUTE BLOCK AS BEGIN";
+    public static final String END_BLOCK = "END;";
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final Writer out;
+    private final String insertPrefix;
+    private final boolean firebird;
+    private final int rowsPerStatement;
+    private final long maxStatementBytes;
+    private final long prefixBytes;
+    private final long overheadBytes;
+    private final StringBuilder pending = new StringBuilder();
+
+    private int rows;
+    private long statementBytes;
+
+    public MultiRowInsertWriter(Writer out, String table, String columns, String target, int rowsPerStatement, long maxStatementBytes) {
+        this.out = out;
+        this.insertPrefix = "INSERT INTO " + table + " (" + columns + ") VALUES ";
+        this.firebird = "FIREBIRD".equals(target);
+        this.rowsPerStatement = Math.max(1, rowsPerStatement);
+        this.maxStatementBytes = maxStatementBytes;
+        this.prefixBytes = utf8Length(insertPrefix);
+        this.overheadBytes = firebird ? EXECUTE_BLOCK.length() + END_BLOCK.length() + 2 : prefixBytes + 2;
+        this.statementBytes = overheadBytes;
+    }
+
+    public void add(CharSequence values) throws IOException {
+        long rowBytes = utf8Length(values) + (firebird ? prefixBytes + 4 : 3);
+        if (rows > 0 && (rows == rowsPerStatement || statementBytes + rowBytes > maxStatementBytes)) {
+            flush();
+        }
+
+        if (firebird) {
+            pending.append(insertPrefix).append('(').append(values).append(");").append(NEWLINE);
+        } else {
+            if (rows > 0) {
+                pending.append(',').append(NEWLINE);
+            }
+            pending.append('(').append(values).append(')');
+        }
+        rows++;
+        statementBytes += rowBytes;
+    }
+
+    private void flush() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+
+        if (rows == 1) {
+            if (firebird) {
+                out.append(pending);
+            } else {
+                out.append(insertPrefix).append(pending).append(';').append(NEWLINE);
+            }
+        } else if (firebird) {
+            out.append(EXECUTE_BLOCK).append(NEWLINE).append(pending).append(END_BLOCK).append(NEWLINE);
+        } else {
+            out.append(insertPrefix.stripTrailing()).append(NEWLINE).append(pending).append(';').append(NEWLINE);
+        }
+
+        pending.setLength(0);
+        rows = 0;
+        statementBytes = overheadBytes;
+    }
+
+    /* Fecha o comando pendente; o Writer de saída é do chamador */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private static long utf8Length(CharSequence text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800 || Character.isSurrogate(c)) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,8 @@
+package com.gabrielrq.database_converter.util.dml;
+
+/* Escreve o literal SQL de um valor do arquivo de dados direto no buffer do comando */
+@FunctionalInterface
+public interface ValueFormatter {
+
+    void format(Object value, StringBuilder out);
+}
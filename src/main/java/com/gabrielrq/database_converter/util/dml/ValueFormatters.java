@@ -0,0 +1,193 @@
+package com.gabrielrq.database_converter.util.dml;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.util.FirebirdBlobHelper;
+import com.gabrielrq.database_converter.util.HexEncoder;
+
+import java.sql.Types;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Registro de formatadores de valores do DML por dialeto de destino e tipo JDBC, escolhidos uma vez por coluna.
+ * O tipo vem do ColumnDefinition, não do texto do valor: nenhum formatador usa regex. Valores que não correspondem
+ * ao tipo esperado (ex.: texto numa coluna numérica do arquivo JSON) caem no formatador de texto do dialeto.
+ */
+public class ValueFormatters {
+
+    private static final int FIREBIRD_MAX_STRING_LITERAL = 60_000;
+
+    public static final ValueFormatter TEXT = ValueFormatters::formatText;
+    public static final ValueFormatter FIREBIRD_TEXT = ValueFormatters::formatFirebirdText;
+
+    private static final Map<Integer, ValueFormatter> COMMON = new HashMap<>();
+    private static final Map<String, Map<Integer, ValueFormatter>> DIALECTS = new HashMap<>();
+
+    static {
+        Map<Integer, ValueFormatter> firebird = new HashMap<>();
+        ValueFormatter number = literal(TEXT);
+        ValueFormatter firebirdNumber = literal(FIREBIRD_TEXT);
+        for (int type : new int[]{
+                Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.REAL, Types.FLOAT, Types.DOUBLE,
+                Types.NUMERIC, Types.DECIMAL, Types.BIT, Types.BOOLEAN
+        }) {
+            COMMON.put(type, number);
+            firebird.put(type, firebirdNumber);
+        }
+        firebird.put(Types.TIMESTAMP, ValueFormatters::formatFirebirdTimestamp);
+        firebird.put(Types.TIMESTAMP_WITH_TIMEZONE, ValueFormatters::formatFirebirdTimestamp);
+
+        Map<Integer, ValueFormatter> postgres = new HashMap<>(COMMON);
+        for (int type : new int[]{Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB}) {
+            postgres.put(type, ValueFormatters::formatPostgresBinary);
+            firebird.put(type, ValueFormatters::formatFirebirdBinary);
+        }
+        DIALECTS.put("POSTGRES", postgres);
+        DIALECTS.put("FIREBIRD", firebird);
+    }
+
+    public static ValueFormatter forColumn(ColumnDefinition column, String target) {
+        Map<Integer, ValueFormatter> dialect = DIALECTS.getOrDefault(target, COMMON);
+        ValueFormatter formatter = column.genericType() != null ? dialect.get(column.genericType()) : null;
+        if (formatter != null) {
+            return formatter;
+        }
+        return "FIREBIRD".equals(target) ? FIREBIRD_TEXT : TEXT;
+    }
+
+    /* Números e booleanos sem aspas; outros valores vão para o formatador de texto */
+    private static ValueFormatter literal(ValueFormatter fallback) {
+        return (value, out) -> {
+            if (value instanceof Number || value instanceof Boolean) {
+                out.append(value);
+            } else {
+                fallback.format(value, out);
+            }
+        };
+    }
+
+    private static void formatText(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("NULL");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof byte[] bytes) {
+            out.append('\'').append(Base64.getEncoder().encodeToString(bytes)).append('\'');
+        } else {
+            appendQuoted(value.toString(), out);
+        }
+    }
+
+    /* Textos acima do limite de literal do Firebird viram concatenação de blobs */
+    private static void formatFirebirdText(Object value, StringBuilder out) {
+        if (value instanceof CharSequence text && text.length() > FIREBIRD_MAX_STRING_LITERAL
+                && printableLength(text) > FIREBIRD_MAX_STRING_LITERAL) {
+            FirebirdBlobHelper.appendBlobLiteral(text, out);
+            return;
+        }
+        formatText(value, out);
+    }
+
+    /*
+     * Colunas binárias: bytes do arquivo binário ou base64 do arquivo JSON viram o literal de bytes do destino
+     * ('\x..' no Postgres, x'..' no Firebird), sem passar por texto. Texto que não é base64 segue como literal de texto.
+     */
+    private static void formatPostgresBinary(Object value, StringBuilder out) {
+        if (value instanceof byte[] bytes) {
+            out.append("'\\x");
+            HexEncoder.appendHex(bytes, out);
+            out.append('\'');
+        } else if (value instanceof CharSequence base64 && HexEncoder.isBase64(base64)) {
+            out.ensureCapacity(out.length() + HexEncoder.base64DecodedLength(base64) * 2 + 4);
+            out.append("'\\x");
+            HexEncoder.decodeBase64(base64, b -> HexEncoder.appendHex(b, out));
+            out.append('\'');
+        } else {
+            formatText(value, out);
+        }
+    }
+
+    private static void formatFirebirdBinary(Object value, StringBuilder out) {
+        if (value instanceof byte[] bytes) {
+            FirebirdBlobHelper.appendBinaryLiteral(bytes, out);
+        } else if (value instanceof CharSequence base64 && HexEncoder.isBase64(base64)) {
+            FirebirdBlobHelper.appendBinaryLiteralFromBase64(base64, out);
+        } else {
+            formatFirebirdText(value, out);
+        }
+    }
+
+    /*
+     * Instantes ISO-8601 do arquivo de dados ("2024-01-01T10:00:00.123456Z" ou com deslocamento "+03:00")
+     * no formato aceito pelo Firebird: espaço no lugar do T, sem zona e com no máximo milissegundos.
+     */
+    private static void formatFirebirdTimestamp(Object value, StringBuilder out) {
+        if (!(value instanceof String text) || !isIsoDateTime(text)) {
+            formatFirebirdText(value, out);
+            return;
+        }
+
+        int end = 19;
+        if (text.length() > end && text.charAt(end) == '.') {
+            int fractionEnd = end + 1;
+            while (fractionEnd < text.length() && Character.isDigit(text.charAt(fractionEnd))) {
+                fractionEnd++;
+            }
+            end = Math.min(fractionEnd, end + 4);
+            if (fractionEnd < text.length() && text.charAt(fractionEnd) != 'Z') {
+                end = 19; // Com deslocamento a fração é descartada, como no formato sem fração
+            }
+        }
+
+        out.append('\'')
+                .append(text, 0, 10)
+                .append(' ')
+                .append(text, 11, end)
+                .append('\'');
+    }
+
+    private static boolean isIsoDateTime(String text) {
+        if (text.length() < 20 || text.charAt(10) != 'T') {
+            return false;
+        }
+        for (int i = 0; i < 19; i++) {
+            char c = text.charAt(i);
+            boolean separator = i == 4 || i == 7 || i == 10 || i == 13 || i == 16;
+            if (!separator && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        char last = text.charAt(text.length() - 1);
+        char zone = text.charAt(19);
+        return last == 'Z' || zone == '+' || zone == '-' || zone == '.';
+    }
+
+    /* Aspas simples duplicadas e caracteres de controle removidos numa única passada */
+    public static void appendQuoted(CharSequence text, StringBuilder out) {
+        out.append('\'');
+        int runStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'') {
+                out.append(text, runStart, i + 1).append('\'');
+                runStart = i + 1;
+            } else if (c < 0x20 || c == 0x7F) {
+                out.append(text, runStart, i);
+                runStart = i + 1;
+            }
+        }
+        out.append(text, runStart, text.length()).append('\'');
+    }
+
+    private static int printableLength(CharSequence text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c != 0x7F) {
+                length++;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,27 @@
+package com.gabrielrq.database_converter.util.io;
+
+import java.io.IOException;
+
+/*
+ * Leitura dos valores primitivos do arquivo de dados binário, na ordem de bytes do DataOutputStream.
+ * Só o que o BinarySpillReader lê: cada fonte (stream ou janelas mapeadas) implementa tudo o que declara.
+ */
+public interface BinaryInput {
+
+    void readFully(byte[] b) throws IOException;
+
+    byte readByte() throws IOException;
+
+    boolean readBoolean() throws IOException;
+
+    int readInt() throws IOException;
+
+    long readLong() throws IOException;
+
+    float readFloat() throws IOException;
+
+    double readDouble() throws IOException;
+
+    /* String no UTF-8 modificado do DataOutputStream.writeUTF */
+    String readUTF() throws IOException;
+}
@@ -0,0 +1,64 @@
+package com.gabrielrq.database_converter.util.io;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/*
+ * Pool limitado de buffers diretos, compartilhado entre as threads que gravam arquivos.
+ * Buffers são entregues em pares (um enche enquanto o outro é gravado). A aquisição nunca espera: uma tarefa pode
+ * manter vários arquivos abertos (ex.: spill e cópia bruta do COPY), e esperar por um par segurando outro trava
+ * quando todas as tarefas fazem o mesmo. Com o pool esgotado, o par vem do heap e não conta no limite.
+ */
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final Semaphore permits;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+    public DirectBufferPool(int bufferSize, int maxBuffers) {
+        this.bufferSize = bufferSize;
+        this.permits = new Semaphore(Math.max(2, maxBuffers), true);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /* Par de buffers diretos, alocados sob demanda e reaproveitados, ou de heap quando o pool está esgotado */
+    public ByteBuffer[] acquirePair() {
+        if (!permits.tryAcquire(2)) {
+            return new ByteBuffer[]{ByteBuffer.allocate(bufferSize), ByteBuffer.allocate(bufferSize)};
+        }
+        return new ByteBuffer[]{take(), take()};
+    }
+
+    public void release(ByteBuffer[] buffers) {
+        int pooled = 0;
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.isDirect()) {
+                buffer.clear();
+                free.offer(buffer);
+                pooled++;
+            }
+        }
+        permits.release(pooled);
+    }
+
+    /* Libera as permissões sem reaproveitar os buffers */
+    public void discard(ByteBuffer[] buffers) {
+        int pooled = 0;
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.isDirect()) {
+                pooled++;
+            }
+        }
+        permits.release(pooled);
+    }
+
+    private ByteBuffer take() {
+        ByteBuffer buffer = free.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+}
@@ -0,0 +1,139 @@
+package com.gabrielrq.database_converter.util.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Grava em arquivo com dois buffers diretos do pool: enquanto um é gravado em segundo plano pelo
+ * AsynchronousFileChannel, o outro recebe os próximos bytes. A thread escritora só espera o disco
+ * quando enche um buffer antes de a gravação anterior terminar.
+ */
+public class DoubleBufferedFileOutputStream extends OutputStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoubleBufferedFileOutputStream.class);
+
+    private final Path file;
+    private final DirectBufferPool pool;
+    private final ByteBuffer[] buffers;
+    private final AsynchronousFileChannel channel;
+    private final long startNanos = System.nanoTime();
+
+    private ByteBuffer current;
+    private ByteBuffer writing;
+    private Future<Integer> pending;
+    private long position;
+    private long stallNanos;
+    private boolean closed;
+
+    public DoubleBufferedFileOutputStream(Path file, DirectBufferPool pool) throws IOException {
+        this.file = file;
+        this.pool = pool;
+        this.buffers = pool.acquirePair();
+        try {
+            this.channel = AsynchronousFileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            pool.release(buffers);
+            throw e;
+        }
+        this.current = buffers[0];
+        this.writing = buffers[1];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!current.hasRemaining()) {
+            swap();
+        }
+        current.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!current.hasRemaining()) {
+                swap();
+            }
+            int chunk = Math.min(len, current.remaining());
+            current.put(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    /* Não força o buffer parcial, para não gerar gravações pequenas a cada flush dos escritores acima */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (current.position() > 0) {
+                swap();
+            }
+            awaitPending();
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                // Buffer ainda em uso por uma gravação interrompida não pode voltar ao pool
+                if (pending == null || pending.isDone()) {
+                    pool.release(buffers);
+                } else {
+                    pool.discard(buffers);
+                }
+            }
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        logger.info(
+                "Arquivo '{}' gravado: {} bytes em {} ms ({} MB/s), espera pelo disco {} ms",
+                file.getFileName(), position, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                "%.1f".formatted(position / 1_048_576.0 / (elapsedNanos / 1e9)), TimeUnit.NANOSECONDS.toMillis(stallNanos)
+        );
+    }
+
+    /* Espera a gravação anterior liberar o segundo buffer e inicia a gravação do buffer cheio */
+    private void swap() throws IOException {
+        awaitPending();
+        ByteBuffer full = current;
+        current = writing;
+        current.clear();
+        writing = full;
+        writing.flip();
+        pending = channel.write(writing, position);
+    }
+
+    /* Uma gravação assíncrona pode ser parcial: continua do ponto onde parou até esvaziar o buffer */
+    private void awaitPending() throws IOException {
+        while (pending != null) {
+            long waitStart = System.nanoTime();
+            try {
+                position += pending.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Gravação do arquivo '" + file.getFileName() + "' interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Falha na gravação do arquivo '" + file.getFileName() + "'", e.getCause());
+            } finally {
+                stallNanos += System.nanoTime() - waitStart;
+            }
+            pending = writing.hasRemaining() ? channel.write(writing, position) : null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.gabrielrq.database_converter.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * BinaryInput lido direto de janelas mapeadas em memória do arquivo, sem cópia para buffers de stream.
+ * Só uma janela fica mapeada por vez: ao faltar bytes para um valor, a próxima janela começa na posição atual,
+ * então arquivos maiores que o heap são lidos na velocidade do page cache. Mesma ordem de bytes do DataOutputStream.
+ */
+public class MappedFileInput implements BinaryInput, Closeable {
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    public MappedFileInput(Path file, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = Math.max(4096, windowSize);
+        map(0, 0);
+    }
+
+    private long position() {
+        return windowStart + window.position();
+    }
+
+    /* Garante "needed" bytes contíguos na janela atual, remapeando a partir da posição atual se preciso */
+    private void ensure(int needed) throws IOException {
+        if (window.remaining() >= needed) {
+            return;
+        }
+        map(position(), needed);
+    }
+
+    private void map(long start, int needed) throws IOException {
+        long length = Math.min(Math.max(windowSize, needed), size - start);
+        if (length < needed) {
+            throw new EOFException();
+        }
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        windowStart = start;
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    private void readFully(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ensure(1);
+            int chunk = Math.min(len, window.remaining());
+            window.get(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        ensure(1);
+        return window.get();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        ensure(4);
+        return window.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        ensure(8);
+        return window.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        ensure(4);
+        return window.getFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        ensure(8);
+        return window.getDouble();
+    }
+
+    /* Usado só no cabeçalho e nas referências de LOB: decodifica o prefixo de tamanho e os bytes pelo DataInputStream */
+    @Override
+    public String readUTF() throws IOException {
+        ensure(2);
+        int length = window.getShort() & 0xFFFF;
+        byte[] encoded = new byte[length + 2];
+        encoded[0] = (byte) (length >>> 8);
+        encoded[1] = (byte) length;
+        readFully(encoded, 2, length);
+        return new DataInputStream(new ByteArrayInputStream(encoded)).readUTF();
+    }
+
+    /* A janela mapeada é liberada pelo GC; fechar o canal não invalida o mapeamento */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
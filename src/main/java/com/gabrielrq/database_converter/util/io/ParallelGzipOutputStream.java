@@ -0,0 +1,120 @@
+package com.gabrielrq.database_converter.util.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Comprime blocos de tamanho fixo em paralelo, cada um como um membro gzip independente.
+ * Membros concatenados formam um arquivo gzip válido (RFC 1952), legível por GZIPInputStream.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final Executor executor;
+    private final Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+
+    private byte[] block;
+    private int count;
+    private long compressedBytes;
+
+    public ParallelGzipOutputStream(OutputStream out, int blockSize, int maxPendingBlocks, Executor executor) {
+        this.out = out;
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = Math.max(1, maxPendingBlocks);
+        this.executor = executor;
+        this.block = new byte[blockSize];
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        block[count++] = (byte) b;
+        if (count == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int chunk = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, block, count, chunk);
+            count += chunk;
+            off += chunk;
+            len -= chunk;
+
+            if (count == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    /* Não força o bloco parcial, para não gerar membros gzip pequenos a cada flush */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (count > 0) {
+                submitBlock();
+            }
+            while (!pending.isEmpty()) {
+                writeNextBlock();
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        final byte[] data = block;
+        final int length = count;
+        pending.add(CompletableFuture.supplyAsync(() -> compress(data, length), executor));
+
+        block = new byte[blockSize];
+        count = 0;
+
+        while (pending.size() > maxPendingBlocks) {
+            writeNextBlock();
+        }
+    }
+
+    private void writeNextBlock() throws IOException {
+        try {
+            byte[] compressed = pending.poll().join();
+            out.write(compressed);
+            compressedBytes += compressed.length;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static byte[] compress(byte[] data, int length) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, length / 2));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 64 * 1024)) {
+            gzip.write(data, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
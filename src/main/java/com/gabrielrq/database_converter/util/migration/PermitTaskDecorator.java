@@ -0,0 +1,33 @@
+package com.gabrielrq.database_converter.util.migration;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.Semaphore;
+
+/* Limita quantas tarefas executam ao mesmo tempo (uma permissão por conexão aberta), sem depender do número de threads */
+public class PermitTaskDecorator implements TaskDecorator {
+
+    private final Semaphore permits;
+
+    public PermitTaskDecorator(Semaphore permits) {
+        this.permits = permits;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return () -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrompido aguardando permissão de conexão", e);
+            }
+
+            try {
+                runnable.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Layout do arquivo:
+ *   MAGIC (4 bytes) | VERSION (1 byte) | nº de colunas (int) | [nome (UTF) | tipo JDBC (int)]...
+ *   [ROW | valor...]... | END
+ * Cada valor é prefixado por um byte de tipo; valores de tamanho variável carregam o tamanho (int) antes dos dados.
+ * LOBs transmitidos em partes usam [tamanho (int) | bytes]... terminados por um tamanho 0; LOBs descarregados
+ * em arquivo auxiliar guardam apenas o tipo (binário ou texto) e o caminho relativo (UTF). Colunas ausentes
+ * (skipColumn) gravam só o tipo TAG_ABSENT e ficam fora da linha lida, como no formato JSON.
+ */
+public final class BinarySpillFormat {
+
+    public static final byte[] MAGIC = {'D', 'C', 'S', 'P'};
+    public static final byte VERSION = 1;
+
+    public static final byte END = 0;
+    public static final byte ROW = 1;
+
+    public static final byte TAG_NULL = 0;
+    public static final byte TAG_STRING = 1;
+    public static final byte TAG_LONG = 2;
+    public static final byte TAG_DOUBLE = 3;
+    public static final byte TAG_TRUE = 4;
+    public static final byte TAG_FALSE = 5;
+    public static final byte TAG_DECIMAL = 6;
+    public static final byte TAG_BYTES = 7;
+    public static final byte TAG_FLOAT = 8;
+    public static final byte TAG_STRING_CHUNKED = 9;
+    public static final byte TAG_BYTES_CHUNKED = 10;
+    public static final byte TAG_LOB_REFERENCE = 11;
+    public static final byte TAG_ABSENT = 12;
+
+    private BinarySpillFormat() {
+    }
+
+    public static long headerLength(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            in.skipNBytes(MAGIC.length + 1);
+            int columns = in.readInt();
+            long length = MAGIC.length + 1 + 4;
+
+            for (int i = 0; i < columns; i++) {
+                int nameLength = in.readUnsignedShort();
+                in.skipNBytes(nameLength + 4);
+                length += 2 + nameLength + 4;
+            }
+
+            return length;
+        }
+    }
+}
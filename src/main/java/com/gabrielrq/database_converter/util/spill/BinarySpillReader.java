@@ -0,0 +1,149 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import com.gabrielrq.database_converter.util.io.BinaryInput;
+import com.gabrielrq.database_converter.util.io.DataStreamInput;
+import com.gabrielrq.database_converter.util.io.MappedFileInput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.gabrielrq.database_converter.util.spill.BinarySpillFormat.*;
+
+public class BinarySpillReader implements SpillReader {
+
+    /* Coluna gravada com skipColumn: a chave não entra na linha */
+    private static final Object ABSENT = new Object();
+
+    private final BinaryInput in;
+    private final Closeable source;
+    private final String[] columnNames;
+    private final int[] columnTypes;
+    private final Path lobBase;
+    private final long maxLobSize;
+
+    public BinarySpillReader(InputStream in) throws IOException {
+        this(in, null, LobOffloader.MAX_LOB_SIZE);
+    }
+
+    public BinarySpillReader(InputStream in, Path lobBase, long maxLobSize) throws IOException {
+        this(new DataStreamInput(in), in, lobBase, maxLobSize);
+    }
+
+    /* Arquivo sem compressão decodificado direto das janelas mapeadas, sem stream intermediário */
+    public static BinarySpillReader mapped(Path file, int windowSize, Path lobBase, long maxLobSize) throws IOException {
+        MappedFileInput input = new MappedFileInput(file, windowSize);
+        try {
+            return new BinarySpillReader(input, input, lobBase, maxLobSize);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    private BinarySpillReader(BinaryInput in, Closeable source, Path lobBase, long maxLobSize) throws IOException {
+        this.in = in;
+        this.source = source;
+        this.lobBase = lobBase;
+        this.maxLobSize = LobOffloader.effectiveMaxSize(maxLobSize);
+
+        byte[] magic = readBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC) || this.in.readByte() != VERSION) {
+            throw new IOException("Formato de arquivo de dados inválido.");
+        }
+
+        int columns = this.in.readInt();
+        columnNames = new String[columns];
+        columnTypes = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            columnNames[i] = this.in.readUTF();
+            columnTypes[i] = this.in.readInt();
+        }
+    }
+
+    public String[] columnNames() {
+        return columnNames;
+    }
+
+    public int[] columnTypes() {
+        return columnTypes;
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        if (in.readByte() != ROW) {
+            return null;
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String columnName : columnNames) {
+            Object value = readValue();
+            if (value != ABSENT) {
+                row.put(columnName, value);
+            }
+        }
+        return row;
+    }
+
+    private Object readValue() throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_ABSENT -> ABSENT;
+            case TAG_STRING -> new String(readBytes(in.readInt()), StandardCharsets.UTF_8);
+            case TAG_LONG -> in.readLong();
+            case TAG_FLOAT -> in.readFloat();
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_DECIMAL -> {
+                int scale = in.readInt();
+                yield new BigDecimal(new BigInteger(readBytes(in.readInt())), scale);
+            }
+            case TAG_BYTES -> readBytes(in.readInt());
+            case TAG_STRING_CHUNKED -> readChunks().toString(StandardCharsets.UTF_8);
+            case TAG_BYTES_CHUNKED -> readChunks().toByteArray();
+            case TAG_LOB_REFERENCE -> {
+                boolean binary = in.readBoolean();
+                String reference = in.readUTF();
+                if (lobBase == null) {
+                    throw new IOException("Referência a LOB externo sem diretório base: " + reference);
+                }
+                yield LobOffloader.read(lobBase, reference, binary, maxLobSize);
+            }
+            default -> throw new IOException("Tipo de valor desconhecido no arquivo de dados: " + tag);
+        };
+    }
+
+    /* O valor inteiro vai para a memória (transformação e DML trabalham com ele completo), até maxLobSize bytes */
+    private ByteArrayOutputStream readChunks() throws IOException {
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        int length;
+        while ((length = in.readInt()) > 0) {
+            if (value.size() + (long) length > maxLobSize) {
+                throw LobOffloader.tooLarge(value.size() + (long) length, maxLobSize);
+            }
+            value.write(readBytes(length));
+        }
+        return value;
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
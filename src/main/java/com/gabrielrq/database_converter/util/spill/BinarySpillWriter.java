@@ -0,0 +1,209 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static com.gabrielrq.database_converter.util.spill.BinarySpillFormat.*;
+
+public class BinarySpillWriter implements SpillWriter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final DataOutputStream out;
+    private final int chunkSize;
+
+    public BinarySpillWriter(OutputStream out) {
+        this(out, DEFAULT_CHUNK_SIZE);
+    }
+
+    public BinarySpillWriter(OutputStream out, int chunkSize) {
+        this.out = new DataOutputStream(out);
+        this.chunkSize = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+    }
+
+    @Override
+    public void writeHeader(String[] columnNames, int[] columnTypes) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(columnNames.length);
+
+        for (int i = 0; i < columnNames.length; i++) {
+            out.writeUTF(columnNames[i]);
+            out.writeInt(columnTypes[i]);
+        }
+    }
+
+    @Override
+    public void startRow() throws IOException {
+        out.writeByte(ROW);
+    }
+
+    @Override
+    public void endRow() {
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        out.writeByte(TAG_NULL);
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(TAG_STRING);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        out.writeByte(TAG_LONG);
+        out.writeLong(value);
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        out.writeByte(TAG_FLOAT);
+        out.writeFloat(value);
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        out.writeByte(TAG_DOUBLE);
+        out.writeDouble(value);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        out.writeByte(value ? TAG_TRUE : TAG_FALSE);
+    }
+
+    @Override
+    public void writeDecimal(BigDecimal value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeByte(TAG_DECIMAL);
+        out.writeInt(value.scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+    }
+
+    @Override
+    public void writeBytes(byte[] value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        out.writeByte(TAG_BYTES);
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    @Override
+    public void writeObject(Object value) throws IOException {
+        switch (value) {
+            case null -> writeNull();
+            case String s -> writeString(s);
+            case Long l -> writeLong(l);
+            case Integer i -> writeLong(i);
+            case Short s -> writeLong(s);
+            case Byte b -> writeLong(b);
+            case Double d -> writeDouble(d);
+            case Float f -> writeFloat(f);
+            case BigDecimal d -> writeDecimal(d);
+            case BigInteger i -> writeDecimal(new BigDecimal(i));
+            case Boolean b -> writeBoolean(b);
+            case byte[] bytes -> writeBytes(bytes);
+            default -> writeString(value.toString());
+        }
+    }
+
+    @Override
+    public void writeCharacterStream(Reader value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        out.writeByte(TAG_STRING_CHUNKED);
+        char[] buffer = new char[chunkSize];
+        int pending = 0;
+        int read;
+
+        while ((read = value.read(buffer, pending, buffer.length - pending)) != -1) {
+            int length = pending + read;
+            // Um par substituto não pode ser dividido entre duas partes codificadas separadamente
+            int end = Character.isHighSurrogate(buffer[length - 1]) ? length - 1 : length;
+            writeChunk(new String(buffer, 0, end).getBytes(StandardCharsets.UTF_8));
+
+            pending = length - end;
+            if (pending > 0) {
+                buffer[0] = buffer[end];
+            }
+        }
+
+        if (pending > 0) {
+            writeChunk(new String(buffer, 0, pending).getBytes(StandardCharsets.UTF_8));
+        }
+        out.writeInt(0);
+    }
+
+    @Override
+    public void writeBinaryStream(InputStream value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        out.writeByte(TAG_BYTES_CHUNKED);
+        byte[] buffer = new byte[chunkSize];
+        int read;
+
+        while ((read = value.readNBytes(buffer, 0, buffer.length)) > 0) {
+            out.writeInt(read);
+            out.write(buffer, 0, read);
+        }
+        out.writeInt(0);
+    }
+
+    private void writeChunk(byte[] chunk) throws IOException {
+        if (chunk.length > 0) {
+            out.writeInt(chunk.length);
+            out.write(chunk);
+        }
+    }
+
+    @Override
+    public void writeLobReference(String reference, boolean binary) throws IOException {
+        out.writeByte(TAG_LOB_REFERENCE);
+        out.writeBoolean(binary);
+        out.writeUTF(reference);
+    }
+
+    @Override
+    public void skipColumn() throws IOException {
+        out.writeByte(TAG_ABSENT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.writeByte(END);
+        out.close();
+    }
+}
@@ -0,0 +1,201 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.TableDefinition;
+
+import org.postgresql.PGStatement;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+/*
+ * Decodifica as linhas de texto do COPY CSV do Postgres direto no formato de spill, produzindo os mesmos valores
+ * que o RowCodec obteria pelos getters JDBC. Tabelas com tipos sem conversão equivalente (ex: arrays, money, timetz)
+ * não são compiladas e seguem pela extração JDBC.
+ */
+public class CopyRowCodec {
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(String value, SpillWriter writer) throws IOException;
+    }
+
+    private static final DateTimeFormatter TIMESTAMP = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .appendLiteral(' ')
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .toFormatter();
+
+    private static final DateTimeFormatter TIMESTAMP_WITH_OFFSET = new DateTimeFormatterBuilder()
+            .append(TIMESTAMP)
+            .appendOffset("+HH:mm:ss", "+00")
+            .toFormatter();
+
+    private static final String INFINITY = "infinity";
+    private static final String NEGATIVE_INFINITY = "-infinity";
+    private static final String BC_SUFFIX = " BC";
+
+    // Nomes de tipo do Postgres cujo texto no COPY tem decodificação equivalente ao getter JDBC
+    private static final Set<String> SUPPORTED_ORIGIN_TYPES = Set.of(
+            "int2", "int4", "int8", "smallserial", "serial", "bigserial", "oid",
+            "float4", "float8", "numeric", "bool",
+            "bpchar", "varchar", "text", "name",
+            "date", "time", "timestamp", "timestamptz", "bytea"
+    );
+
+    private static final FieldWriter SKIP = (value, writer) -> writer.skipColumn();
+
+    private final String[] columnNames;
+    private final int[] columnTypes;
+    private final FieldWriter[] writers;
+
+    private CopyRowCodec(String[] columnNames, int[] columnTypes, FieldWriter[] writers) {
+        this.columnNames = columnNames;
+        this.columnTypes = columnTypes;
+        this.writers = writers;
+    }
+
+    /* Colunas na ordem de posição, a mesma da lista de colunas da consulta; retorna null se alguma coluna não tem decodificação equivalente */
+    public static CopyRowCodec compile(TableDefinition table) {
+        List<ColumnDefinition> columns = table.columns().stream()
+                .sorted(Comparator.comparing(ColumnDefinition::ordinalPosition, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        String[] columnNames = new String[columns.size()];
+        int[] columnTypes = new int[columns.size()];
+        FieldWriter[] writers = new FieldWriter[columns.size()];
+
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnDefinition column = columns.get(i);
+            columnNames[i] = column.name();
+            columnTypes[i] = column.genericType() != null ? column.genericType() : Types.OTHER;
+            writers[i] = fieldWriter(columnTypes[i], column.originType());
+            if (writers[i] == null) {
+                return null;
+            }
+        }
+
+        return new CopyRowCodec(columnNames, columnTypes, writers);
+    }
+
+    public String[] columnNames() {
+        return columnNames;
+    }
+
+    public void writeHeader(SpillWriter writer) throws IOException {
+        writer.writeHeader(columnNames, columnTypes);
+    }
+
+    public void writeRow(String[] fields, SpillWriter writer) throws IOException {
+        if (fields.length != writers.length) {
+            throw new IOException("Linha do COPY com " + fields.length + " campos, esperados " + writers.length);
+        }
+
+        writer.startRow();
+        for (int i = 0; i < writers.length; i++) {
+            if (fields[i] == null && writers[i] != SKIP) {
+                writer.writeNull();
+            } else {
+                writers[i].write(fields[i], writer);
+            }
+        }
+        writer.endRow();
+    }
+
+    private static FieldWriter fieldWriter(int columnType, String originType) {
+        // Tipos não listados (ex: money, timetz, bit(n), domínios) têm texto sem equivalente ao getter JDBC e vão pelo JDBC
+        if (columnType != Types.OTHER && columnType != Types.DISTINCT
+                && (originType == null || !SUPPORTED_ORIGIN_TYPES.contains(originType.toLowerCase(Locale.ROOT)))) {
+            return null;
+        }
+
+        return switch (columnType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> (value, writer) -> writer.writeLong(Long.parseLong(value));
+            case Types.REAL -> (value, writer) -> writer.writeFloat(Float.parseFloat(value));
+            case Types.FLOAT, Types.DOUBLE -> (value, writer) -> writer.writeDouble(Double.parseDouble(value));
+            // bool vem como t/f
+            case Types.BIT, Types.BOOLEAN -> (value, writer) -> writer.writeBoolean(value.equals("t"));
+            case Types.NUMERIC, Types.DECIMAL -> (value, writer) -> writer.writeDecimal(new BigDecimal(value));
+            case Types.CHAR, Types.VARCHAR, Types.NCHAR, Types.NVARCHAR -> (value, writer) -> writer.writeString(value);
+            case Types.DATE -> (value, writer) -> writer.writeString(date(value));
+            case Types.TIME -> (value, writer) -> writer.writeString(Time.valueOf(LocalTime.parse(value)).toString());
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> {
+                boolean withOffset = "timestamptz".equalsIgnoreCase(originType) || columnType == Types.TIMESTAMP_WITH_TIMEZONE;
+                yield (value, writer) -> writer.writeString(timestamp(value, withOffset));
+            }
+            // bytea no formato hex (\x...), fixado na sessão do COPY
+            case Types.BINARY, Types.VARBINARY -> (value, writer) -> writer.writeBytes(HexFormat.of().parseHex(value, 2, value.length()));
+            case Types.OTHER, Types.DISTINCT -> SKIP;
+            default -> null;
+        };
+    }
+
+    /* Datas comuns já vêm em ISO; infinity e datas antes de Cristo seguem a conversão do driver */
+    private static String date(String value) {
+        if (value.equals(INFINITY) || value.equals(NEGATIVE_INFINITY)) {
+            return new Date(value.equals(INFINITY) ? PGStatement.DATE_POSITIVE_INFINITY : PGStatement.DATE_NEGATIVE_INFINITY).toLocalDate().toString();
+        }
+        if (!value.endsWith(BC_SUFFIX)) {
+            return value;
+        }
+        LocalDate date = LocalDate.parse(value.substring(0, value.length() - BC_SUFFIX.length()));
+        return new Date(beforeChrist(date.atStartOfDay(), TimeZone.getDefault())).toLocalDate().toString();
+    }
+
+    private static String timestamp(String value, boolean withOffset) {
+        if (value.equals(INFINITY) || value.equals(NEGATIVE_INFINITY)) {
+            return new Timestamp(value.equals(INFINITY) ? PGStatement.DATE_POSITIVE_INFINITY : PGStatement.DATE_NEGATIVE_INFINITY).toInstant().toString();
+        }
+
+        boolean bc = value.endsWith(BC_SUFFIX);
+        String text = bc ? value.substring(0, value.length() - BC_SUFFIX.length()) : value;
+        if (withOffset) {
+            OffsetDateTime dateTime = OffsetDateTime.parse(text, TIMESTAMP_WITH_OFFSET);
+            if (!bc) {
+                return dateTime.toInstant().toString();
+            }
+            TimeZone zone = new SimpleTimeZone(dateTime.getOffset().getTotalSeconds() * 1000, "UTC");
+            return withNanos(beforeChrist(dateTime.toLocalDateTime(), zone), dateTime.getNano()).toInstant().toString();
+        }
+
+        // Sem fuso, o driver interpreta o valor no fuso da JVM
+        LocalDateTime dateTime = LocalDateTime.parse(text, TIMESTAMP);
+        Timestamp timestamp = bc ? withNanos(beforeChrist(dateTime, TimeZone.getDefault()), dateTime.getNano()) : Timestamp.valueOf(dateTime);
+        return timestamp.toInstant().toString();
+    }
+
+    /* Mesmo calendário do driver (juliano antes de 1582), com o ano contado na era antes de Cristo */
+    private static long beforeChrist(LocalDateTime dateTime, TimeZone zone) {
+        GregorianCalendar calendar = new GregorianCalendar(zone);
+        calendar.clear();
+        calendar.set(Calendar.ERA, GregorianCalendar.BC);
+        calendar.set(dateTime.getYear(), dateTime.getMonthValue() - 1, dateTime.getDayOfMonth(),
+                dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond());
+        return calendar.getTimeInMillis();
+    }
+
+    private static Timestamp withNanos(long millis, int nanos) {
+        Timestamp timestamp = new Timestamp(millis);
+        timestamp.setNanos(nanos);
+        return timestamp;
+    }
+}
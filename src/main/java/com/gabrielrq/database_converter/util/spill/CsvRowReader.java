@@ -0,0 +1,89 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Leitor incremental do CSV produzido por "COPY ... TO STDOUT WITH (FORMAT csv)" do Postgres.
+ * Campo vazio sem aspas é NULL; campo vazio entre aspas é string vazia. Aspas internas vêm duplicadas.
+ */
+public class CsvRowReader {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+
+    public CsvRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /* Retorna os campos da próxima linha, ou null ao fim do stream */
+    public String[] next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        fields.clear();
+        while (true) {
+            field.setLength(0);
+            boolean quoted = false;
+
+            if (c == '"') {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        throw new IOException("CSV inválido: aspas não fechadas");
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    field.append((char) c);
+                }
+            } else {
+                while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                    field.append((char) c);
+                    c = read();
+                }
+            }
+
+            fields.add(!quoted && field.isEmpty() ? null : field.toString());
+
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c == '\r') {
+                c = read();
+            }
+            if (c != '\n' && c != -1) {
+                throw new IOException("CSV inválido: caractere inesperado após campo entre aspas");
+            }
+            return fields.toArray(new String[0]);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
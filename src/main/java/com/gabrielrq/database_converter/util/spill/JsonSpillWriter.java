@@ -0,0 +1,132 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+
+public class JsonSpillWriter implements SpillWriter {
+
+    public static final String LOB_REFERENCE_FIELD = "$lobRef";
+    public static final String LOB_BINARY_FIELD = "binary";
+
+    private final JsonGenerator generator;
+    private String[] columnNames;
+    private int column;
+
+    public JsonSpillWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void writeHeader(String[] columnNames, int[] columnTypes) throws IOException {
+        this.columnNames = columnNames;
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void startRow() throws IOException {
+        column = 0;
+        generator.writeStartObject();
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        generator.writeNullField(columnNames[column++]);
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        generator.writeStringField(columnNames[column++], value);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        generator.writeNumberField(columnNames[column++], value);
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        generator.writeNumberField(columnNames[column++], value);
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        generator.writeNumberField(columnNames[column++], value);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        generator.writeBooleanField(columnNames[column++], value);
+    }
+
+    @Override
+    public void writeDecimal(BigDecimal value) throws IOException {
+        generator.writeNumberField(columnNames[column++], value);
+    }
+
+    @Override
+    public void writeBytes(byte[] value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        generator.writeBinaryField(columnNames[column++], value); // writes as base64
+    }
+
+    @Override
+    public void writeObject(Object value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        generator.writeObjectField(columnNames[column++], value);
+    }
+
+    @Override
+    public void writeCharacterStream(Reader value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        generator.writeFieldName(columnNames[column++]);
+        generator.writeString(value, -1);
+    }
+
+    @Override
+    public void writeBinaryStream(InputStream value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        generator.writeFieldName(columnNames[column++]);
+        generator.writeBinary(value, -1);
+    }
+
+    @Override
+    public void writeLobReference(String reference, boolean binary) throws IOException {
+        generator.writeObjectFieldStart(columnNames[column++]);
+        generator.writeStringField(LOB_REFERENCE_FIELD, reference);
+        generator.writeBooleanField(LOB_BINARY_FIELD, binary);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void skipColumn() {
+        column++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.flush();
+        generator.close();
+    }
+}
@@ -0,0 +1,98 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Descarrega LOBs acima do limite configurado em arquivos auxiliares, deixando no arquivo de dados apenas a referência.
+ * Valores menores que o limite continuam inline; no máximo "threshold" caracteres/bytes ficam em memória por valor.
+ * Na leitura o LOB volta inteiro para a memória, por isso há um teto (maxSize) verificado antes de carregá-lo.
+ */
+public class LobOffloader {
+
+    private static final int BUFFER_SIZE = 8192;
+    /* Maior array que a JVM aloca com segurança: acima disso um LOB não cabe em byte[] nem em String */
+    public static final long MAX_LOB_SIZE = Integer.MAX_VALUE - 8;
+
+    private final Path directory;
+    private final long threshold;
+
+    public LobOffloader(Path directory, long threshold) {
+        this.directory = directory;
+        this.threshold = threshold;
+    }
+
+    public void writeCharacters(Reader value, SpillWriter writer) throws IOException {
+        CharArrayWriter head = new CharArrayWriter();
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+
+        while (head.size() <= threshold) {
+            read = value.read(buffer);
+            if (read == -1) {
+                writer.writeString(head.toString());
+                return;
+            }
+            head.write(buffer, 0, read);
+        }
+
+        Path file = createFile(".txt");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            head.writeTo(out);
+            value.transferTo(out);
+        }
+        writer.writeLobReference(referenceOf(file), false);
+    }
+
+    public void writeBinary(InputStream value, SpillWriter writer) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+
+        while (head.size() <= threshold) {
+            read = value.read(buffer);
+            if (read == -1) {
+                writer.writeBytes(head.toByteArray());
+                return;
+            }
+            head.write(buffer, 0, read);
+        }
+
+        Path file = createFile(".bin");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            head.writeTo(out);
+            value.transferTo(out);
+        }
+        writer.writeLobReference(referenceOf(file), true);
+    }
+
+    private Path createFile(String suffix) throws IOException {
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, "lob-", suffix);
+    }
+
+    private String referenceOf(Path file) {
+        return directory.getFileName() + "/" + file.getFileName();
+    }
+
+    public static Object read(Path base, String reference, boolean binary, long maxSize) throws IOException {
+        Path file = base.resolve(reference);
+        long size = Files.size(file);
+        if (size > effectiveMaxSize(maxSize)) {
+            throw tooLarge(size, effectiveMaxSize(maxSize));
+        }
+        return binary ? Files.readAllBytes(file) : Files.readString(file, StandardCharsets.UTF_8);
+    }
+
+    /* 0 ou valores acima do limite da JVM usam o limite da JVM */
+    static long effectiveMaxSize(long maxSize) {
+        return maxSize > 0 ? Math.min(maxSize, MAX_LOB_SIZE) : MAX_LOB_SIZE;
+    }
+
+    static IOException tooLarge(long size, long maxSize) {
+        return new IOException("LOB com mais de " + maxSize + " bytes (lidos " + size
+                + "); aumente migration.spill.lob.maxSize.");
+    }
+}
@@ -0,0 +1,263 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/*
+ * Codificador de linhas compilado uma única vez por tabela a partir do ResultSetMetaData.
+ * Cada coluna recebe um escritor que lê o valor exatamente uma vez, pelo getter JDBC tipado adequado.
+ * LOBs são lidos como stream e copiados em partes (ou descarregados em arquivo auxiliar, quando há um LobOffloader).
+ *
+ * Para o pipeline de extração, readRow materializa a linha em um Object[] (sem codificar) e writeRow(Object[], ...)
+ * a codifica depois, em outra thread. Tabelas com LOB não são destacáveis, pois o stream depende do cursor.
+ */
+public class RowCodec {
+
+    @FunctionalInterface
+    public interface ColumnWriter {
+        void write(ResultSet rs, SpillWriter writer) throws SQLException, IOException;
+    }
+
+    @FunctionalInterface
+    public interface ColumnReader {
+        Object read(ResultSet rs) throws SQLException;
+    }
+
+    /* Marca colunas sem valor representável, para que o escritor chame skipColumn */
+    private static final Object SKIPPED = new Object();
+
+    private final String[] columnNames;
+    private final int[] columnTypes;
+    private final ColumnWriter[] writers;
+    private final ColumnReader[] readers;
+
+    private RowCodec(String[] columnNames, int[] columnTypes, ColumnWriter[] writers, ColumnReader[] readers) {
+        this.columnNames = columnNames;
+        this.columnTypes = columnTypes;
+        this.writers = writers;
+        this.readers = readers;
+    }
+
+    public static RowCodec compile(ResultSetMetaData metadata) throws SQLException {
+        return compile(metadata, null);
+    }
+
+    public static RowCodec compile(ResultSetMetaData metadata, LobOffloader offloader) throws SQLException {
+        int columns = metadata.getColumnCount();
+        String[] columnNames = new String[columns];
+        int[] columnTypes = new int[columns];
+        ColumnWriter[] writers = new ColumnWriter[columns];
+        ColumnReader[] readers = new ColumnReader[columns];
+
+        for (int i = 1; i <= columns; i++) {
+            columnNames[i - 1] = metadata.getColumnName(i);
+            columnTypes[i - 1] = metadata.getColumnType(i);
+            int codecType = codecType(metadata, i, columnTypes[i - 1]);
+            writers[i - 1] = columnWriter(i, codecType, offloader);
+            readers[i - 1] = columnReader(i, codecType);
+        }
+
+        return new RowCodec(columnNames, columnTypes, writers, readers);
+    }
+
+    /*
+     * BIT só é booleano com precisão 1: o Postgres informa bit(n) e varbit como BIT, e getBoolean falha nesses valores.
+     * Com precisão maior, o valor segue como texto ("0101...").
+     */
+    private static int codecType(ResultSetMetaData metadata, int i, int columnType) throws SQLException {
+        if (columnType == Types.BIT && metadata.getPrecision(i) > 1) {
+            return Types.VARCHAR;
+        }
+        return columnType;
+    }
+
+    public String[] columnNames() {
+        return columnNames;
+    }
+
+    public int[] columnTypes() {
+        return columnTypes;
+    }
+
+    public void writeHeader(SpillWriter writer) throws IOException {
+        writer.writeHeader(columnNames, columnTypes);
+    }
+
+    public void writeRow(ResultSet rs, SpillWriter writer) throws SQLException, IOException {
+        writer.startRow();
+        for (ColumnWriter columnWriter : writers) {
+            columnWriter.write(rs, writer);
+        }
+        writer.endRow();
+    }
+
+    public boolean isDetachable() {
+        for (ColumnReader reader : readers) {
+            if (reader == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void readRow(ResultSet rs, Object[] values) throws SQLException {
+        for (int i = 0; i < readers.length; i++) {
+            values[i] = readers[i].read(rs);
+        }
+    }
+
+    public void writeRow(Object[] values, SpillWriter writer) throws IOException {
+        writer.startRow();
+        for (Object value : values) {
+            if (value == SKIPPED) {
+                writer.skipColumn();
+            } else {
+                writer.writeObject(value);
+            }
+        }
+        writer.endRow();
+    }
+
+    /* Mesma leitura de columnWriter, mas devolvendo o valor em uma forma que writeObject codifica de maneira idêntica */
+    private static ColumnReader columnReader(final int i, int columnType) {
+        return switch (columnType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> rs -> {
+                long value = rs.getLong(i);
+                return rs.wasNull() ? null : value;
+            };
+            case Types.REAL -> rs -> {
+                float value = rs.getFloat(i);
+                return rs.wasNull() ? null : value;
+            };
+            case Types.FLOAT, Types.DOUBLE -> rs -> {
+                double value = rs.getDouble(i);
+                return rs.wasNull() ? null : value;
+            };
+            case Types.BIT, Types.BOOLEAN -> rs -> {
+                boolean value = rs.getBoolean(i);
+                return rs.wasNull() ? null : value;
+            };
+            case Types.NUMERIC, Types.DECIMAL -> rs -> rs.getBigDecimal(i);
+            case Types.CHAR, Types.VARCHAR, Types.NCHAR, Types.NVARCHAR -> rs -> rs.getString(i);
+            case Types.DATE -> rs -> {
+                Date date = rs.getDate(i);
+                return date != null ? date.toLocalDate().toString() : null;
+            };
+            case Types.TIME -> rs -> {
+                Time time = rs.getTime(i);
+                return time != null ? time.toString() : null;
+            };
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> rs -> {
+                Timestamp ts = rs.getTimestamp(i);
+                return ts != null ? ts.toInstant().toString() : null;
+            };
+            case Types.CLOB, Types.NCLOB, Types.LONGVARCHAR, Types.LONGNVARCHAR, Types.BLOB, Types.LONGVARBINARY -> null;
+            case Types.BINARY, Types.VARBINARY -> rs -> rs.getBytes(i);
+            case Types.ARRAY -> rs -> {
+                try {
+                    Array array = rs.getArray(i);
+                    if (array == null) {
+                        return null;
+                    }
+                    Object[] arr = (Object[]) array.getArray();
+                    return Arrays.stream(arr).map(v -> v != null ? v.toString() : "").collect(Collectors.joining(";"));
+                } catch (SQLException ignored) {
+                    return null;
+                }
+            };
+            case Types.OTHER, Types.DISTINCT -> rs -> SKIPPED;
+            default -> rs -> rs.getObject(i);
+        };
+    }
+
+    private static ColumnWriter columnWriter(final int i, int columnType, LobOffloader offloader) {
+        return switch (columnType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> (rs, writer) -> {
+                long value = rs.getLong(i);
+                if (rs.wasNull()) {
+                    writer.writeNull();
+                } else {
+                    writer.writeLong(value);
+                }
+            };
+            case Types.REAL -> (rs, writer) -> {
+                float value = rs.getFloat(i);
+                if (rs.wasNull()) {
+                    writer.writeNull();
+                } else {
+                    writer.writeFloat(value);
+                }
+            };
+            case Types.FLOAT, Types.DOUBLE -> (rs, writer) -> {
+                double value = rs.getDouble(i);
+                if (rs.wasNull()) {
+                    writer.writeNull();
+                } else {
+                    writer.writeDouble(value);
+                }
+            };
+            case Types.BIT, Types.BOOLEAN -> (rs, writer) -> {
+                boolean value = rs.getBoolean(i);
+                if (rs.wasNull()) {
+                    writer.writeNull();
+                } else {
+                    writer.writeBoolean(value);
+                }
+            };
+            case Types.NUMERIC, Types.DECIMAL -> (rs, writer) -> writer.writeDecimal(rs.getBigDecimal(i));
+            case Types.CHAR, Types.VARCHAR, Types.NCHAR, Types.NVARCHAR -> (rs, writer) -> writer.writeString(rs.getString(i));
+            case Types.DATE -> (rs, writer) -> {
+                Date date = rs.getDate(i);
+                writer.writeString(date != null ? date.toLocalDate().toString() : null);
+            };
+            case Types.TIME -> (rs, writer) -> {
+                Time time = rs.getTime(i);
+                writer.writeString(time != null ? time.toString() : null);
+            };
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> (rs, writer) -> {
+                Timestamp ts = rs.getTimestamp(i);
+                writer.writeString(ts != null ? ts.toInstant().toString() : null);
+            };
+            case Types.CLOB, Types.NCLOB, Types.LONGVARCHAR, Types.LONGNVARCHAR -> (rs, writer) -> {
+                try (Reader value = rs.getCharacterStream(i)) {
+                    if (value != null && offloader != null) {
+                        offloader.writeCharacters(value, writer);
+                    } else {
+                        writer.writeCharacterStream(value);
+                    }
+                }
+            };
+            case Types.BLOB, Types.LONGVARBINARY -> (rs, writer) -> {
+                try (InputStream value = rs.getBinaryStream(i)) {
+                    if (value != null && offloader != null) {
+                        offloader.writeBinary(value, writer);
+                    } else {
+                        writer.writeBinaryStream(value);
+                    }
+                }
+            };
+            case Types.BINARY, Types.VARBINARY -> (rs, writer) -> writer.writeBytes(rs.getBytes(i));
+            case Types.ARRAY -> (rs, writer) -> {
+                try {
+                    Array array = rs.getArray(i);
+                    if (array == null) {
+                        writer.writeNull();
+                        return;
+                    }
+                    Object[] arr = (Object[]) array.getArray();
+                    writer.writeString(Arrays.stream(arr).map(v -> v != null ? v.toString() : "").collect(Collectors.joining(";")));
+                } catch (SQLException ignored) {
+                    /* Arrays are poorly supported in some DBMS, so: try to convert it to a comma separated text, on fail write null */
+                    writer.writeNull();
+                }
+            };
+            /* Ignore database specific types */
+            case Types.OTHER, Types.DISTINCT -> (rs, writer) -> writer.skipColumn();
+            default -> (rs, writer) -> writer.writeObject(rs.getObject(i));
+        };
+    }
+}
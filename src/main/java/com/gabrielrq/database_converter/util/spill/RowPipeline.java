@@ -0,0 +1,135 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Pipeline de duas etapas por tabela: a thread chamadora busca linhas do driver em lotes de tamanho fixo
+ * e os entrega por uma fila limitada a uma thread codificadora, que grava no SpillWriter.
+ * Com a fila cheia o leitor espera (contrapressão), então no máximo "queueDepth" lotes ficam em memória.
+ */
+public class RowPipeline {
+
+    private static final Object[][] END = new Object[0][];
+    private static final long POLL_MILLIS = 100;
+
+    private final int batchSize;
+    private final int queueDepth;
+
+    /*
+     * fetchStallNanos: tempo em que o leitor esperou por espaço na fila (escrita é o gargalo).
+     * encodeStallNanos: tempo em que o codificador esperou por lotes (origem é o gargalo).
+     */
+    public record Stats(long rows, long batches, int maxQueueDepth, double averageQueueDepth, long fetchStallNanos, long encodeStallNanos) {
+    }
+
+    public RowPipeline(int batchSize, int queueDepth) {
+        this.batchSize = Math.max(1, batchSize);
+        this.queueDepth = Math.max(1, queueDepth);
+    }
+
+    /* O cursor deve estar posicionado na primeira linha, como no laço de escrita direta */
+    public Stats run(ResultSet rs, RowCodec codec, SpillWriter writer, String name) throws SQLException, IOException {
+        BlockingQueue<Object[][]> queue = new ArrayBlockingQueue<>(queueDepth);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long[] encodeStall = new long[1];
+
+        Thread encoder = Thread.ofPlatform().name("spill-encoder-" + name).start(() -> {
+            try {
+                while (true) {
+                    long waitStart = System.nanoTime();
+                    Object[][] batch = queue.take();
+                    encodeStall[0] += System.nanoTime() - waitStart;
+                    if (batch == END) {
+                        return;
+                    }
+                    for (Object[] row : batch) {
+                        codec.writeRow(row, writer);
+                    }
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+
+        int columns = codec.columnNames().length;
+        long rows = 0;
+        long batches = 0;
+        long depthSum = 0;
+        int maxDepth = 0;
+        long fetchStall = 0;
+        boolean hasNext = true;
+
+        try {
+            while (hasNext && failure.get() == null) {
+                Object[][] batch = new Object[batchSize][];
+                int size = 0;
+                while (size < batchSize && hasNext) {
+                    Object[] row = new Object[columns];
+                    codec.readRow(rs, row);
+                    batch[size++] = row;
+                    hasNext = rs.next();
+                }
+                if (size < batchSize) {
+                    Object[][] last = new Object[size][];
+                    System.arraycopy(batch, 0, last, 0, size);
+                    batch = last;
+                }
+
+                int depth = queue.size();
+                depthSum += depth;
+                maxDepth = Math.max(maxDepth, depth);
+
+                long waitStart = System.nanoTime();
+                while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (failure.get() != null) {
+                        break;
+                    }
+                }
+                fetchStall += System.nanoTime() - waitStart;
+
+                rows += size;
+                batches++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            encoder.interrupt();
+            throw new IOException("Extração interrompida", e);
+        } finally {
+            awaitEncoder(encoder, queue, failure);
+        }
+
+        rethrow(failure.get());
+        return new Stats(rows, batches, maxDepth, batches > 0 ? (double) depthSum / batches : 0, fetchStall, encodeStall[0]);
+    }
+
+    private static void awaitEncoder(Thread encoder, BlockingQueue<Object[][]> queue, AtomicReference<Throwable> failure) throws IOException {
+        try {
+            while (failure.get() == null && encoder.isAlive() && !queue.offer(END, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                // aguarda espaço para o marcador de fim
+            }
+            encoder.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            encoder.interrupt();
+            throw new IOException("Extração interrompida", e);
+        }
+    }
+
+    private static void rethrow(Throwable failure) throws SQLException, IOException {
+        switch (failure) {
+            case null -> {
+            }
+            case IOException e -> throw e;
+            case SQLException e -> throw e;
+            case RuntimeException e -> throw e;
+            case Error e -> throw e;
+            default -> throw new IOException(failure);
+        }
+    }
+}
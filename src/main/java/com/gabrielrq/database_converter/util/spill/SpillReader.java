@@ -0,0 +1,12 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/* Cursor sobre as linhas de um arquivo de dados: cada linha é decodificada só quando pedida */
+public interface SpillReader extends Closeable {
+
+    /* Próxima linha, com as colunas na ordem do arquivo, ou null ao fim dos dados */
+    Map<String, Object> next() throws IOException;
+}
@@ -0,0 +1,48 @@
+package com.gabrielrq.database_converter.util.spill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+
+public interface SpillWriter extends Closeable {
+
+    void writeHeader(String[] columnNames, int[] columnTypes) throws IOException;
+
+    void startRow() throws IOException;
+
+    void endRow() throws IOException;
+
+    void writeNull() throws IOException;
+
+    void writeString(String value) throws IOException;
+
+    void writeLong(long value) throws IOException;
+
+    void writeFloat(float value) throws IOException;
+
+    void writeDouble(double value) throws IOException;
+
+    void writeBoolean(boolean value) throws IOException;
+
+    void writeDecimal(BigDecimal value) throws IOException;
+
+    void writeBytes(byte[] value) throws IOException;
+
+    void writeObject(Object value) throws IOException;
+
+    /* Copia o conteúdo em partes, sem materializar o valor inteiro em memória */
+    void writeCharacterStream(Reader value) throws IOException;
+
+    void writeBinaryStream(InputStream value) throws IOException;
+
+    /* Valor gravado em arquivo auxiliar; reference é relativo ao diretório das tabelas */
+    void writeLobReference(String reference, boolean binary) throws IOException;
+
+    /*
+     * Coluna ausente da linha: tipos sem valor representável no formato (específicos do SGBD), ausentes em todas
+     * as linhas da tabela. Nenhum formato grava a chave. Um valor que falha na conversão em uma linha é gravado com writeNull.
+     */
+    void skipColumn() throws IOException;
+}
@@ -0,0 +1,166 @@
+package com.gabrielrq.database_converter.benchmark;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.util.io.TeeInputStream;
+import com.gabrielrq.database_converter.util.spill.BinarySpillWriter;
+import com.gabrielrq.database_converter.util.spill.CopyRowCodec;
+import com.gabrielrq.database_converter.util.spill.CsvRowReader;
+import com.gabrielrq.database_converter.util.spill.RowCodec;
+import com.gabrielrq.database_converter.util.spill.SpillWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyInputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara a extração por ResultSet + RowCodec com o COPY TO STDOUT em CSV, decodificado para o spill
+ * e decodificado com cópia bruta. Precisa de um Postgres: -Dbenchmark.postgres.url=jdbc:postgresql://...
+ * (usuário e senha em benchmark.postgres.user e benchmark.postgres.password).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CopyExtractionBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final String QUERY = "SELECT id, name, price, ratio, active, created_at, birth_date, hash FROM copy_benchmark";
+
+    private Connection connection;
+    private CopyRowCodec copyCodec;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("benchmark.postgres.url");
+        if (url == null) {
+            throw new IllegalStateException("Informe o Postgres do benchmark em -Dbenchmark.postgres.url");
+        }
+
+        connection = DriverManager.getConnection(url, System.getProperty("benchmark.postgres.user", "postgres"), System.getProperty("benchmark.postgres.password", ""));
+        connection.setAutoCommit(false);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS copy_benchmark");
+            stmt.execute("""
+                    CREATE TABLE copy_benchmark (
+                        id BIGINT PRIMARY KEY,
+                        name VARCHAR(80),
+                        price NUMERIC(12, 2),
+                        ratio DOUBLE PRECISION,
+                        active BOOLEAN,
+                        created_at TIMESTAMP,
+                        birth_date DATE,
+                        hash BYTEA
+                    )""");
+            stmt.execute("""
+                    INSERT INTO copy_benchmark
+                    SELECT x, 'Produto "' || x || '", lote ' || (x % 97), x * 1.25, x / 7.0, x % 2 = 0,
+                           TIMESTAMP '2024-01-01 00:00:00' + x * INTERVAL '1 second',
+                           CASE WHEN x % 10 = 0 THEN NULL ELSE DATE '1990-01-01' + (x % 3650) END,
+                           decode(md5(x::text), 'hex')
+                    FROM generate_series(1, %d) AS x""".formatted(ROWS));
+        }
+        connection.commit();
+
+        copyCodec = CopyRowCodec.compile(new TableDefinition("copy_benchmark", List.of(
+                new ColumnDefinition("id", Types.BIGINT, "int8", null, null, null, null, false, false, null, 1),
+                new ColumnDefinition("name", Types.VARCHAR, "varchar", null, 80, null, null, true, false, null, 2),
+                new ColumnDefinition("price", Types.NUMERIC, "numeric", null, null, 12, 2, true, false, null, 3),
+                new ColumnDefinition("ratio", Types.DOUBLE, "float8", null, null, null, null, true, false, null, 4),
+                new ColumnDefinition("active", Types.BIT, "bool", null, null, null, null, true, false, null, 5),
+                new ColumnDefinition("created_at", Types.TIMESTAMP, "timestamp", null, null, null, null, true, false, null, 6),
+                new ColumnDefinition("birth_date", Types.DATE, "date", null, null, null, null, true, false, null, 7),
+                new ColumnDefinition("hash", Types.BINARY, "bytea", null, null, null, null, true, false, null, 8)
+        ), List.of("id"), List.of(), List.of(), "public"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS copy_benchmark");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void resultSetRowCodec() throws Exception {
+        try (
+                Statement stmt = connection.createStatement();
+                OutputStream out = new BufferedOutputStream(OutputStream.nullOutputStream());
+                SpillWriter writer = new BinarySpillWriter(out)
+        ) {
+            stmt.setFetchSize(500);
+            try (ResultSet rs = stmt.executeQuery(QUERY)) {
+                RowCodec codec = RowCodec.compile(rs.getMetaData());
+                codec.writeHeader(writer);
+                while (rs.next()) {
+                    codec.writeRow(rs, writer);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void copyDecode() throws Exception {
+        try (InputStream in = openCopy()) {
+            decode(in);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void copyDecodeWithRawCopy() throws Exception {
+        try (InputStream in = new TeeInputStream(openCopy(), new BufferedOutputStream(OutputStream.nullOutputStream()))) {
+            decode(in);
+        }
+    }
+
+    private InputStream openCopy() throws SQLException {
+        return new PGCopyInputStream(connection.unwrap(PGConnection.class), "COPY (" + QUERY + ") TO STDOUT WITH (FORMAT csv)");
+    }
+
+    private void decode(InputStream in) throws Exception {
+        try (
+                Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+                OutputStream out = new BufferedOutputStream(OutputStream.nullOutputStream());
+                SpillWriter writer = new BinarySpillWriter(out)
+        ) {
+            CsvRowReader csv = new CsvRowReader(reader);
+            copyCodec.writeHeader(writer);
+            String[] fields;
+            while ((fields = csv.next()) != null) {
+                copyCodec.writeRow(fields, writer);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CopyExtractionBenchmark.class.getSimpleName())
+                .jvmArgsAppend(
+                        "-Dbenchmark.postgres.url=" + System.getProperty("benchmark.postgres.url"),
+                        "-Dbenchmark.postgres.user=" + System.getProperty("benchmark.postgres.user", "postgres"),
+                        "-Dbenchmark.postgres.password=" + System.getProperty("benchmark.postgres.password", "")
+                )
+                .build();
+        new Runner(options).run();
+    }
+}
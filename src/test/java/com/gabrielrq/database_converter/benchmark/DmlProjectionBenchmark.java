@@ -0,0 +1,101 @@
+package com.gabrielrq.database_converter.benchmark;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.util.dml.DmlProjection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/*
+ * Compara o filtro antigo dos valores do INSERT (anyMatch + equalsIgnoreCase por célula) com o DmlProjection
+ * compilado, em tabelas largas. O formatador é o mesmo nos dois casos, então a diferença é só da projeção.
+ * Execução: mvn test-compile e depois rodar o main desta classe com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DmlProjectionBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"30", "300"})
+    private int columnCount;
+
+    private TableDefinition table;
+    private List<Map<String, Object>> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<ColumnDefinition> columns = new ArrayList<>();
+        for (int i = 1; i <= columnCount; i++) {
+            // Uma coluna em cada dez sem tipo de destino, para o filtro ter o que descartar
+            String targetType = i % 10 == 0 ? "INVALID" : "VARCHAR";
+            columns.add(new ColumnDefinition("column_" + i, Types.VARCHAR, "varchar", targetType, 40, 40, 0, true, false, null, i));
+        }
+        table = new TableDefinition("wide_table", columns, List.of("column_1"), List.of(), List.of(), null);
+
+        rows = new ArrayList<>();
+        for (int r = 0; r < ROWS; r++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 1; i <= columnCount; i++) {
+                row.put("COLUMN_" + i, "valor " + r + "-" + i);
+            }
+            rows.add(row);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyFilter(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            String values = row.entrySet().stream()
+                    .filter(
+                            e -> table.columns().stream()
+                                    .anyMatch(
+                                            c -> c.name().equalsIgnoreCase(e.getKey()) && !"INVALID".equalsIgnoreCase(c.targetType())
+                                    )
+                    )
+                    .map(e -> format(e.getValue()))
+                    .collect(Collectors.joining(","));
+            blackhole.consume(values);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void compiledProjection(Blackhole blackhole) {
+        DmlProjection projection = DmlProjection.compile(table, rows.getFirst().keySet(), column -> (value, out) -> out.append(format(value)));
+        StringBuilder values = new StringBuilder();
+        for (Map<String, Object> row : rows) {
+            values.setLength(0);
+            projection.appendValues(row, values);
+            blackhole.consume(values);
+        }
+    }
+
+    private static String format(Object value) {
+        return value == null ? "NULL" : "'" + value + "'";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DmlProjectionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
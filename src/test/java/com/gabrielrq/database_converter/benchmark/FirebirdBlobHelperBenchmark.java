@@ -0,0 +1,72 @@
+package com.gabrielrq.database_converter.benchmark;
+
+import com.gabrielrq.database_converter.util.FirebirdBlobHelper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara o literal de blob antigo (String.format por byte, substrings e join) com o codificador por tabela
+ * que escreve direto no buffer do comando. Execução: mvn test-compile e depois rodar o main desta classe
+ * com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FirebirdBlobHelperBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int length;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append("Descrição do produto número ").append(builder.length()).append(". ");
+        }
+        text = builder.substring(0, length);
+    }
+
+    @Benchmark
+    public void legacyFormat(Blackhole blackhole) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        StringBuilder hexBuilder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hexBuilder.append(String.format("%02X", b));
+        }
+        String hex = hexBuilder.toString();
+
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < hex.length(); i += 30_000) {
+            chunks.add(hex.substring(i, Math.min(hex.length(), i + 30_000)));
+        }
+        blackhole.consume(String.join(" || ", chunks.stream().map(s -> "CAST(x'" + s + "' AS BLOB SUB_TYPE TEXT)").toArray(String[]::new)));
+    }
+
+    @Benchmark
+    public void lookupTable(Blackhole blackhole) {
+        StringBuilder out = new StringBuilder();
+        FirebirdBlobHelper.appendBlobLiteral(text, out);
+        blackhole.consume(out);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FirebirdBlobHelperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
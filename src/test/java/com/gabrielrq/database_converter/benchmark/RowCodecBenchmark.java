@@ -0,0 +1,146 @@
+package com.gabrielrq.database_converter.benchmark;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gabrielrq.database_converter.util.spill.BinarySpillWriter;
+import com.gabrielrq.database_converter.util.spill.JsonSpillWriter;
+import com.gabrielrq.database_converter.util.spill.RowCodec;
+import com.gabrielrq.database_converter.util.spill.SpillWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara o laço genérico antigo de escrita (getColumnType + getObject por célula) com o RowCodec compilado.
+ * Execução: mvn test-compile e depois rodar o main desta classe com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowCodecBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final String QUERY = "SELECT id, name, price, ratio, active, created_at, birth_date FROM product";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:rowcodec;DB_CLOSE_DELAY=-1");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS product");
+            stmt.execute("""
+                    CREATE TABLE product (
+                        id BIGINT PRIMARY KEY,
+                        name VARCHAR(80),
+                        price DECIMAL(12, 2),
+                        ratio DOUBLE PRECISION,
+                        active BOOLEAN,
+                        created_at TIMESTAMP,
+                        birth_date DATE
+                    )""");
+            stmt.execute("""
+                    INSERT INTO product
+                    SELECT X, 'Produto ' || X, X * 1.25, X / 7.0, MOD(X, 2) = 0,
+                           DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'),
+                           CASE WHEN MOD(X, 10) = 0 THEN NULL ELSE DATEADD('DAY', MOD(X, 3650), DATE '1990-01-01') END
+                    FROM SYSTEM_RANGE(1, %d)""".formatted(ROWS));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyLoopJson() throws Exception {
+        try (
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(QUERY);
+                OutputStream out = new BufferedOutputStream(OutputStream.nullOutputStream());
+                JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+        ) {
+            ResultSetMetaData metadata = rs.getMetaData();
+            int columns = metadata.getColumnCount();
+            generator.writeStartArray();
+            while (rs.next()) {
+                generator.writeStartObject();
+                for (int i = 1; i <= columns; i++) {
+                    String columnName = metadata.getColumnName(i);
+                    int columnType = metadata.getColumnType(i);
+                    Object value = rs.getObject(i);
+
+                    switch (columnType) {
+                        case Types.DATE -> {
+                            Date date = rs.getDate(i);
+                            generator.writeStringField(columnName, date != null ? date.toLocalDate().toString() : null);
+                        }
+                        case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> {
+                            Timestamp ts = rs.getTimestamp(i);
+                            generator.writeStringField(columnName, ts != null ? ts.toInstant().toString() : null);
+                        }
+                        default -> generator.writeObjectField(columnName, value);
+                    }
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowCodecJson() throws Exception {
+        try (
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(QUERY);
+                OutputStream out = new BufferedOutputStream(OutputStream.nullOutputStream());
+                SpillWriter writer = new JsonSpillWriter(mapper.getFactory().createGenerator(out, JsonEncoding.UTF8))
+        ) {
+            writeRows(rs, writer);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowCodecBinary() throws Exception {
+        try (
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(QUERY);
+                OutputStream out = new BufferedOutputStream(OutputStream.nullOutputStream());
+                SpillWriter writer = new BinarySpillWriter(out)
+        ) {
+            writeRows(rs, writer);
+        }
+    }
+
+    private static void writeRows(ResultSet rs, SpillWriter writer) throws SQLException, IOException {
+        RowCodec codec = RowCodec.compile(rs.getMetaData());
+        codec.writeHeader(writer);
+        while (rs.next()) {
+            codec.writeRow(rs, writer);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RowCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
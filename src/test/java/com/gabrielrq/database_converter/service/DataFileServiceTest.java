@@ -0,0 +1,126 @@
+package com.gabrielrq.database_converter.service;
+
+import com.gabrielrq.database_converter.enums.CompressionCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataFileServiceTest {
+
+    private DataFileService dataFileService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        dataFileService = new DataFileService();
+        ReflectionTestUtils.setField(dataFileService, "codec", CompressionCodec.GZIP);
+        ReflectionTestUtils.setField(dataFileService, "blockSize", 1024);
+    }
+
+    @Test
+    @DisplayName("Deve comprimir em blocos paralelos e ler o conteúdo original")
+    void shouldCompressAndDecompressInBlocks() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("tables/users.bin");
+        byte[] data = new byte[50_000];
+        new Random(42).nextBytes(data);
+        for (int i = 0; i < data.length; i += 3) {
+            data[i] = 'a';
+        }
+
+        // Act
+        try (OutputStream out = dataFileService.openOutput(file)) {
+            out.write(data, 0, 10);
+            out.write(data, 10, data.length - 10);
+        }
+        byte[] result;
+        try (InputStream in = dataFileService.openInput(file)) {
+            result = in.readAllBytes();
+        }
+
+        // Assert
+        assertThat(Files.exists(tempDir.resolve("tables/users.bin.gz"))).isTrue();
+        assertThat(Files.exists(file)).isFalse();
+        assertThat(result).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("Deve substituir versão não comprimida de um arquivo ao reescrevê-lo")
+    void shouldReplacePlainFileWhenRewriting() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("ddl/users.sql");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "old");
+
+        // Act
+        try (OutputStream out = dataFileService.openOutput(file)) {
+            out.write("new".getBytes());
+        }
+
+        // Assert
+        assertThat(dataFileService.resolveExisting(file)).isEqualTo(tempDir.resolve("ddl/users.sql.gz"));
+        assertThat(dataFileService.stripCompression(tempDir.resolve("ddl/users.sql.gz"))).isEqualTo(file);
+    }
+
+    @Test
+    @DisplayName("Escritores paralelos devem dividir o pool limitado de buffers diretos sem perder bytes")
+    void shouldShareBoundedBufferPoolAcrossWriters() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(dataFileService, "codec", CompressionCodec.NONE);
+        ReflectionTestUtils.setField(dataFileService, "writeBufferSize", 64);
+        ReflectionTestUtils.setField(dataFileService, "maxWriteBuffers", 4);
+        byte[] data = new byte[10_000];
+        new Random(7).nextBytes(data);
+
+        // Act
+        List<Future<?>> writers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(6)) {
+            for (int i = 0; i < 6; i++) {
+                Path file = tempDir.resolve("tables/t" + i + ".bin");
+                writers.add(executor.submit(() -> {
+                    try (OutputStream out = dataFileService.openOutput(file)) {
+                        out.write(data[0]);
+                        out.write(data, 1, 99);
+                        out.write(data, 100, data.length - 100);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        // Assert
+        for (int i = 0; i < 6; i++) {
+            assertThat(Files.readAllBytes(tempDir.resolve("tables/t" + i + ".bin"))).isEqualTo(data);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar FileNotFoundException para arquivo inexistente")
+    void shouldThrowWhenFileIsMissing() {
+        assertThrows(FileNotFoundException.class, () -> dataFileService.openInput(tempDir.resolve("missing.sql")));
+    }
+}
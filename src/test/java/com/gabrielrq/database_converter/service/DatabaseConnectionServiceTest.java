@@ -0,0 +1,105 @@
+package com.gabrielrq.database_converter.service;
+
+import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DatabaseConnectionServiceTest {
+
+    private DatabaseConnectionService connectionService;
+
+    private final DbConnectionConfigDTO config = new DbConnectionConfigDTO("pool", "jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver");
+
+    @BeforeEach
+    void setUp() {
+        connectionService = new DatabaseConnectionService();
+        ReflectionTestUtils.setField(connectionService, "poolEnabled", true);
+        ReflectionTestUtils.setField(connectionService, "maxPoolSize", 2);
+        ReflectionTestUtils.setField(connectionService, "idleTimeout", 10000L);
+        ReflectionTestUtils.setField(connectionService, "validationTimeout", 1000L);
+        ReflectionTestUtils.setField(connectionService, "connectionTimeout", 1000L);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o pool do endpoint enquanto alguma migração o utiliza")
+    void shouldShareEndpointPoolUntilLastMigrationFinishes() throws SQLException {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        // Act
+        connectionService.openPools(first, config, null);
+        connectionService.openPools(second, config);
+        DataSource pooled = DatabaseConnectionService.createDataSource(config);
+        try (Connection connection = DatabaseConnectionService.createConnection(config)) {
+            assertThat(connection.getAutoCommit()).isFalse();
+        }
+
+        connectionService.closePools(first);
+        DataSource afterFirst = DatabaseConnectionService.createDataSource(config);
+
+        connectionService.closePools(second);
+        DataSource afterSecond = DatabaseConnectionService.createDataSource(config);
+
+        // Assert
+        assertThat(pooled).isInstanceOf(HikariDataSource.class);
+        assertThat(afterFirst).isSameAs(pooled);
+        assertThat(((HikariDataSource) pooled).isClosed()).isTrue();
+        assertThat(afterSecond).isInstanceOf(DriverManagerDataSource.class);
+    }
+
+    @Test
+    @DisplayName("Deve dimensionar o pool pelas threads de extração e de metadados de cada migração")
+    void shouldSizePoolFromThreadsAndRegisteredMigrations() {
+        // Arrange
+        ReflectionTestUtils.setField(connectionService, "maxPoolSize", 0);
+        ReflectionTestUtils.setField(connectionService, "extractThreads", 3);
+        ReflectionTestUtils.setField(connectionService, "metadataThreads", 2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        // Act
+        connectionService.openPools(first, config);
+        HikariDataSource pool = (HikariDataSource) DatabaseConnectionService.createDataSource(config);
+        int single = pool.getMaximumPoolSize();
+        connectionService.openPools(second, config);
+        int shared = pool.getMaximumPoolSize();
+        connectionService.closePools(first);
+        int afterFirst = pool.getMaximumPoolSize();
+        connectionService.closePools(second);
+
+        // Assert
+        assertThat(single).isEqualTo(6);
+        assertThat(shared).isEqualTo(12);
+        assertThat(afterFirst).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Pool esgotado deve falhar após o tempo de espera em vez de bloquear a etapa")
+    void shouldFailWhenPoolIsExhausted() throws SQLException {
+        // Arrange
+        UUID migration = UUID.randomUUID();
+        connectionService.openPools(migration, config);
+
+        // Act & Assert
+        try (Connection first = DatabaseConnectionService.createConnection(config);
+             Connection second = DatabaseConnectionService.createConnection(config)) {
+            assertThrows(SQLTransientConnectionException.class, () -> DatabaseConnectionService.createConnection(config));
+        } finally {
+            connectionService.closePools(migration);
+        }
+    }
+}
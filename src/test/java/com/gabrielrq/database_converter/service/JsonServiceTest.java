@@ -1,6 +1,11 @@
 package com.gabrielrq.database_converter.service;
 
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.SpillResult;
 import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.enums.CompressionCodec;
+import com.gabrielrq.database_converter.enums.SpillFormat;
+import com.gabrielrq.database_converter.util.spill.CopyRowCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,20 +13,37 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGStatement;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,9 +62,10 @@ class JsonServiceTest {
 
     @BeforeEach
     void setUp() {
-        jsonService = new JsonService();
+        jsonService = new JsonService(new DataFileService());
         ReflectionTestUtils.setField(jsonService, "basePath", tempDir.toString());
         ReflectionTestUtils.setField(jsonService, "conversionMapsPath", "maps/");
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.JSON);
     }
 
     @Test
@@ -90,21 +113,416 @@ class JsonServiceTest {
 
         when(metaData.getColumnName(1)).thenReturn("id");
         when(metaData.getColumnType(1)).thenReturn(Types.INTEGER);
-        when(resultSet.getObject(1)).thenReturn(10);
+        when(resultSet.getLong(1)).thenReturn(10L);
 
         when(metaData.getColumnName(2)).thenReturn("name");
         when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
-        when(resultSet.getObject(2)).thenReturn("Gabriel");
+        when(resultSet.getString(2)).thenReturn("Gabriel");
 
         // Act
-        jsonService.writeStream(resultSet, filename, table);
+        SpillResult spill = jsonService.writeStream(resultSet, filename, table);
 
         // Assert
         Path filePath = tempDir.resolve(filename + ".json");
         assertThat(Files.exists(filePath)).isTrue();
+        assertThat(spill.rowCount()).isEqualTo(1);
+        assertThat(spill.byteCount()).isEqualTo(Files.size(filePath));
 
         String content = Files.readString(filePath);
         assertThat(content).contains("\"id\" : 10");
         assertThat(content).contains("\"name\" : \"Gabriel\"");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve unir segmentos de tabela em um único array JSON")
+    void shouldMergeSegments() throws IOException {
+        // Arrange
+        Path segmentsDir = tempDir.resolve("tables/users.segments");
+        Files.createDirectories(segmentsDir);
+        Files.writeString(segmentsDir.resolve("00000.json"), "[ {\"id\" : 1}, {\"id\" : 2} ]");
+        Files.writeString(segmentsDir.resolve("00002.json"), "[ {\"id\" : 3} ]");
+
+        // Act
+        jsonService.mergeSegments(
+                List.of("tables/users.segments/00000", "tables/users.segments/00001", "tables/users.segments/00002"),
+                "tables/users"
+        );
+
+        // Assert
+        List<Map<String, Object>> result = jsonService.readTableData(tempDir.resolve("tables/users.json"));
+        assertThat(result).extracting(row -> row.get("id")).containsExactly(1, 2, 3);
+        assertThat(Files.exists(segmentsDir)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve escrever e ler dados de tabela no formato binário")
+    void shouldWriteAndReadBinarySpill() throws SQLException, IOException {
+        // Arrange
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.BINARY);
+        String filename = "tables/users";
+        TableDefinition table = new TableDefinition("users", new ArrayList<>(), null, null, null, null);
+
+        when(resultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+
+        when(metaData.getColumnName(1)).thenReturn("id");
+        when(metaData.getColumnType(1)).thenReturn(Types.INTEGER);
+        when(resultSet.getLong(1)).thenReturn(10L).thenReturn(11L);
+
+        when(metaData.getColumnName(2)).thenReturn("name");
+        when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+        when(resultSet.getString(2)).thenReturn("Gabriel").thenReturn(null);
+
+        when(metaData.getColumnName(3)).thenReturn("photo");
+        when(metaData.getColumnType(3)).thenReturn(Types.VARBINARY);
+        when(resultSet.getBytes(3)).thenReturn(new byte[]{1, 2, 3}).thenReturn(null);
+
+        // Act
+        jsonService.writeStream(resultSet, filename, table);
+        Path tablePath = jsonService.resolveTableData(tempDir.resolve("tables"), "users");
+        List<Map<String, Object>> result = jsonService.readTableData(tablePath);
+
+        // Assert
+        assertThat(tablePath.getFileName().toString()).isEqualTo("users.bin");
+        assertThat(result).hasSize(2);
+        assertThat(result.getFirst()).containsEntry("id", 10L).containsEntry("name", "Gabriel");
+        assertThat((byte[]) result.getFirst().get("photo")).containsExactly(1, 2, 3);
+        assertThat(result.get(1)).containsEntry("id", 11L).containsEntry("name", null).containsEntry("photo", null);
+    }
+
+    @Test
+    @DisplayName("Colunas ausentes e arrays sem conversão devem ser lidos igual nos formatos JSON e binário")
+    void shouldReadSkippedColumnsTheSameInBothFormats() throws SQLException, IOException {
+        // Arrange
+        TableDefinition table = new TableDefinition("shapes", new ArrayList<>(), null, null, null, null);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnName(1)).thenReturn("id");
+        when(metaData.getColumnType(1)).thenReturn(Types.INTEGER);
+        when(metaData.getColumnName(2)).thenReturn("geom");
+        when(metaData.getColumnType(2)).thenReturn(Types.OTHER);
+        when(metaData.getColumnName(3)).thenReturn("tags");
+        when(metaData.getColumnType(3)).thenReturn(Types.ARRAY);
+        when(resultSet.getLong(1)).thenReturn(1L);
+        when(resultSet.getArray(3)).thenThrow(new SQLException("Array não suportado"));
+
+        // Act
+        List<List<Map<String, Object>>> results = new ArrayList<>();
+        for (SpillFormat format : SpillFormat.values()) {
+            ReflectionTestUtils.setField(jsonService, "spillFormat", format);
+            when(resultSet.next()).thenReturn(true).thenReturn(false);
+            jsonService.writeStream(resultSet, "tables/shapes", table);
+            results.add(jsonService.readTableData(jsonService.resolveTableData(tempDir.resolve("tables"), "shapes")));
+        }
+
+        // Assert
+        for (List<Map<String, Object>> result : results) {
+            assertThat(result).hasSize(1);
+            assertThat(result.getFirst()).containsOnlyKeys("id", "tags").containsEntry("tags", null);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve exportar colunas bit(n) como texto e ler bit(1) como booleano")
+    void shouldExportMultiBitColumnsAsText() throws SQLException, IOException {
+        // Arrange
+        TableDefinition table = new TableDefinition("flags", new ArrayList<>(), null, null, null, null);
+        when(resultSet.next()).thenReturn(true).thenReturn(false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnName(1)).thenReturn("active");
+        when(metaData.getColumnType(1)).thenReturn(Types.BIT);
+        when(metaData.getPrecision(1)).thenReturn(1);
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        when(metaData.getColumnName(2)).thenReturn("mask");
+        when(metaData.getColumnType(2)).thenReturn(Types.BIT);
+        when(metaData.getPrecision(2)).thenReturn(8);
+        when(resultSet.getString(2)).thenReturn("01010101");
+
+        // Act
+        jsonService.writeStream(resultSet, "tables/flags", table);
+        List<Map<String, Object>> result = jsonService.readTableData(tempDir.resolve("tables/flags.json"));
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst()).containsEntry("active", true).containsEntry("mask", "01010101");
+        verify(resultSet, never()).getBoolean(2);
+    }
+
+    @Test
+    @DisplayName("Deve copiar LOBs em partes e descarregar os grandes em arquivos auxiliares")
+    void shouldStreamAndOffloadLobs() throws SQLException, IOException {
+        // Arrange
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.BINARY);
+        ReflectionTestUtils.setField(jsonService, "lobChunkSize", 4);
+        ReflectionTestUtils.setField(jsonService, "lobOffloadThreshold", 16L);
+        String filename = "tables/documents";
+        TableDefinition table = new TableDefinition("documents", new ArrayList<>(), null, null, null, null);
+        String smallText = "conteúdo \uD83D\uDE00";
+        String largeText = "x".repeat(100);
+        byte[] largeBytes = new byte[64];
+        Arrays.fill(largeBytes, (byte) 7);
+
+        when(resultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+
+        when(metaData.getColumnName(1)).thenReturn("body");
+        when(metaData.getColumnType(1)).thenReturn(Types.CLOB);
+        when(resultSet.getCharacterStream(1)).thenReturn(new StringReader(smallText)).thenReturn(new StringReader(largeText));
+
+        when(metaData.getColumnName(2)).thenReturn("scan");
+        when(metaData.getColumnType(2)).thenReturn(Types.BLOB);
+        when(resultSet.getBinaryStream(2)).thenReturn(null).thenReturn(new ByteArrayInputStream(largeBytes));
+
+        // Act
+        jsonService.writeStream(resultSet, filename, table);
+        List<Map<String, Object>> result = jsonService.readTableData(tempDir.resolve("tables/documents.bin"));
+
+        // Assert
+        try (var lobs = Files.list(tempDir.resolve("tables/documents.lobs"))) {
+            assertThat(lobs.count()).isEqualTo(2);
+        }
+        assertThat(result).hasSize(2);
+        assertThat(result.getFirst()).containsEntry("body", smallText).containsEntry("scan", null);
+        assertThat(result.get(1)).containsEntry("body", largeText);
+        assertThat((byte[]) result.get(1).get("scan")).isEqualTo(largeBytes);
+    }
+
+    @Test
+    @DisplayName("Deve recusar LOBs acima do limite de memória ao ler o arquivo de dados")
+    void shouldRejectLobsAboveMaxSize() throws SQLException, IOException {
+        // Arrange
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.BINARY);
+        ReflectionTestUtils.setField(jsonService, "lobChunkSize", 4);
+        ReflectionTestUtils.setField(jsonService, "lobMaxSize", 32L);
+        TableDefinition table = new TableDefinition("documents", new ArrayList<>(), null, null, null, null);
+
+        when(resultSet.next()).thenReturn(true).thenReturn(false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnName(1)).thenReturn("body");
+        when(metaData.getColumnType(1)).thenReturn(Types.CLOB);
+        when(resultSet.getCharacterStream(1)).thenReturn(new StringReader("x".repeat(100)));
+
+        jsonService.writeStream(resultSet, "tables/documents", table);
+        Path chunked = tempDir.resolve("tables/documents.bin");
+
+        ReflectionTestUtils.setField(jsonService, "lobOffloadThreshold", 16L);
+        when(resultSet.next()).thenReturn(true).thenReturn(false);
+        when(resultSet.getCharacterStream(1)).thenReturn(new StringReader("y".repeat(100)));
+        jsonService.writeStream(resultSet, "tables/offloaded", table);
+        Path offloaded = tempDir.resolve("tables/offloaded.bin");
+
+        // Act & Assert
+        assertThatThrownBy(() -> jsonService.readTableData(chunked))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("migration.spill.lob.maxSize");
+        assertThatThrownBy(() -> jsonService.readTableData(offloaded))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("migration.spill.lob.maxSize");
+    }
+
+    @Test
+    @DisplayName("Pipeline de leitura e codificação deve gerar o mesmo arquivo que a escrita direta")
+    void shouldWriteSameDataThroughPipeline() throws SQLException, IOException {
+        // Arrange
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.BINARY);
+        ReflectionTestUtils.setField(jsonService, "pipelineBatchSize", 7);
+        ReflectionTestUtils.setField(jsonService, "pipelineQueueDepth", 2);
+        TableDefinition table = new TableDefinition("items", new ArrayList<>(), null, null, null, null);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:pipeline");
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(50), price DECIMAL(10, 2), active BOOLEAN, created DATE, hash VARBINARY(4))");
+            stmt.execute("INSERT INTO items SELECT X, CASEWHEN(MOD(X, 5) = 0, NULL, 'item ' || X), X * 1.25, MOD(X, 2) = 0, DATEADD(DAY, X, DATE '2024-01-01'), X'CAFE' FROM SYSTEM_RANGE(1, 1000)");
+
+            // Act
+            ResultSet direct = stmt.executeQuery("SELECT * FROM items ORDER BY id");
+            SpillResult directResult = jsonService.writeStream(direct, "tables/direct", table);
+
+            ReflectionTestUtils.setField(jsonService, "pipelineEnabled", true);
+            ResultSet pipelined = stmt.executeQuery("SELECT * FROM items ORDER BY id");
+            SpillResult pipelinedResult = jsonService.writeStream(pipelined, "tables/pipelined", table);
+
+            // Assert
+            assertThat(pipelinedResult.rowCount()).isEqualTo(1000);
+            assertThat(pipelinedResult).isEqualTo(directResult);
+            assertThat(Files.readAllBytes(tempDir.resolve("tables/pipelined.bin")))
+                    .isEqualTo(Files.readAllBytes(tempDir.resolve("tables/direct.bin")));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve decodificar o CSV do COPY para o spill e manter a cópia bruta")
+    void shouldDecodeCopyCsvAndKeepRawCopy() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.BINARY);
+        TableDefinition table = new TableDefinition("users", List.of(
+                new ColumnDefinition("active", Types.BIT, "bool", "BOOLEAN", null, null, null, true, false, null, 3),
+                new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", null, null, null, false, false, null, 1),
+                new ColumnDefinition("name", Types.VARCHAR, "varchar", "VARCHAR(50)", 50, null, null, true, false, null, 2),
+                new ColumnDefinition("photo", Types.BINARY, "bytea", "BLOB", null, null, null, true, false, null, 4)
+        ), null, null, null, null);
+        String csv = "1,\"Silva, \"\"Ana\"\"\",t,\\xcafe\n2,,f,\n3,\"\",t,\\x\n";
+        String rawFile = jsonService.rawCopyFile("tables/users", 0);
+
+        // Act
+        SpillResult spillResult = jsonService.writeCopy(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CopyRowCodec.compile(table), "tables/users", false, rawFile
+        );
+        List<Map<String, Object>> result = jsonService.readTableData(tempDir.resolve("tables/users.bin"));
+
+        // Assert
+        assertThat(spillResult.rowCount()).isEqualTo(3);
+        assertThat(result).hasSize(3);
+        assertThat(result.getFirst()).containsEntry("id", 1L).containsEntry("name", "Silva, \"Ana\"").containsEntry("active", true);
+        assertThat((byte[]) result.getFirst().get("photo")).containsExactly(0xCA, 0xFE);
+        assertThat(result.get(1)).containsEntry("id", 2L).containsEntry("name", null).containsEntry("active", false).containsEntry("photo", null);
+        assertThat(result.get(2)).containsEntry("name", "");
+        assertThat((byte[]) result.get(2).get("photo")).isEmpty();
+        assertThat(jsonService.listRawCopies("tables/users")).containsExactly(tempDir.resolve(rawFile));
+        assertThat(Files.readString(tempDir.resolve(rawFile))).isEqualTo(csv);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a cópia bruta do COPY com o codec dos arquivos de dados")
+    void shouldCompressRawCopy() throws IOException {
+        // Arrange
+        DataFileService dataFileService = new DataFileService();
+        ReflectionTestUtils.setField(dataFileService, "codec", CompressionCodec.GZIP);
+        jsonService = new JsonService(dataFileService);
+        ReflectionTestUtils.setField(jsonService, "basePath", tempDir.toString());
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.JSON);
+        TableDefinition table = new TableDefinition("users", List.of(
+                new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", null, null, null, false, false, null, 1)
+        ), null, null, null, null);
+        String csv = "1\n2\n";
+        String rawFile = jsonService.rawCopyFile("tables/users", 0);
+
+        // Act
+        jsonService.writeCopy(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CopyRowCodec.compile(table), "tables/users", false, rawFile);
+        List<Path> rawCopies = jsonService.listRawCopies("tables/users");
+
+        // Assert
+        assertThat(rawCopies).containsExactly(tempDir.resolve(rawFile));
+        assertThat(tempDir.resolve(rawFile + CompressionCodec.GZIP.extension())).exists();
+        try (InputStream in = dataFileService.openInput(rawCopies.getFirst())) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(csv);
+        }
+    }
+
+    @Test
+    @DisplayName("Cópias RAW concorrentes acima do número de pares de buffers não devem travar")
+    void shouldNotDeadlockRawCopiesBeyondBufferPairs() throws Exception {
+        // Arrange
+        DataFileService dataFileService = new DataFileService();
+        ReflectionTestUtils.setField(dataFileService, "writeBufferSize", 64);
+        ReflectionTestUtils.setField(dataFileService, "maxWriteBuffers", 2);
+        jsonService = new JsonService(dataFileService);
+        ReflectionTestUtils.setField(jsonService, "basePath", tempDir.toString());
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.BINARY);
+        TableDefinition table = new TableDefinition("users", List.of(
+                new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", null, null, null, false, false, null, 1)
+        ), null, null, null, null);
+        CopyRowCodec codec = CopyRowCodec.compile(table);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            csv.append(i).append('\n');
+        }
+        int tasks = 8;
+
+        // Act
+        List<Future<SpillResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(tasks)) {
+            for (int i = 0; i < tasks; i++) {
+                String filename = "tables/users_" + i;
+                results.add(executor.submit(() -> jsonService.writeCopy(
+                        new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), codec, filename, false, jsonService.rawCopyFile(filename, 0)
+                )));
+            }
+
+            // Assert
+            for (Future<SpillResult> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS).rowCount()).isEqualTo(1000);
+            }
+        }
+        assertThat(Files.readString(tempDir.resolve(jsonService.rawCopyFile("tables/users_7", 0)))).isEqualTo(csv.toString());
+    }
+
+    @Test
+    @DisplayName("Deve decodificar datas infinitas, antes de Cristo e deslocamentos com segundos do COPY")
+    void shouldDecodeSpecialCopyDates() throws IOException {
+        // Arrange
+        TableDefinition table = new TableDefinition("events", List.of(
+                new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", null, null, null, false, false, null, 1),
+                new ColumnDefinition("day", Types.DATE, "date", "DATE", null, null, null, true, false, null, 2),
+                new ColumnDefinition("at", Types.TIMESTAMP, "timestamptz", "TIMESTAMP", null, null, null, true, false, null, 3)
+        ), null, null, null, null);
+        String csv = "1,infinity,-infinity\n2,0044-03-15 BC,0044-03-15 10:00:00+00 BC\n3,1890-01-01,1890-01-01 10:00:00-03:06:28\n";
+
+        // Act
+        jsonService.writeCopy(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CopyRowCodec.compile(table), "tables/events", false, null);
+        List<Map<String, Object>> result = jsonService.readTableData(tempDir.resolve("tables/events.json"));
+
+        // Assert
+        assertThat(result.get(0))
+                .containsEntry("day", new java.sql.Date(PGStatement.DATE_POSITIVE_INFINITY).toLocalDate().toString())
+                .containsEntry("at", new Timestamp(PGStatement.DATE_NEGATIVE_INFINITY).toInstant().toString());
+        assertThat(result.get(1)).containsEntry("at", "-0043-03-13T10:00:00Z");
+        assertThat(result.get(2)).containsEntry("day", "1890-01-01").containsEntry("at", "1890-01-01T13:06:28Z");
+    }
+
+    @Test
+    @DisplayName("Não deve compilar decodificação do COPY para tipos sem equivalente ao JDBC")
+    void shouldNotCompileCopyCodecForUnsupportedTypes() {
+        // Arrange
+        ColumnDefinition id = new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", null, null, null, false, false, null, 1);
+        TableDefinition money = new TableDefinition("prices", List.of(id,
+                new ColumnDefinition("price", Types.DOUBLE, "money", "DOUBLE PRECISION", null, null, null, true, false, null, 2)
+        ), null, null, null, null);
+        TableDefinition timetz = new TableDefinition("shifts", List.of(id,
+                new ColumnDefinition("start", Types.TIME, "timetz", "TIME", null, null, null, true, false, null, 2)
+        ), null, null, null, null);
+        TableDefinition bits = new TableDefinition("flags", List.of(id,
+                new ColumnDefinition("mask", Types.BIT, "bit", "BOOLEAN", 8, null, null, true, false, null, 2)
+        ), null, null, null, null);
+
+        // Act & Assert
+        assertThat(CopyRowCodec.compile(money)).isNull();
+        assertThat(CopyRowCodec.compile(timetz)).isNull();
+        assertThat(CopyRowCodec.compile(bits)).isNull();
+    }
+
+    @Test
+    @DisplayName("Leitura por janelas mapeadas em memória deve retornar as mesmas linhas que a leitura por stream")
+    void shouldReadMappedSpillAcrossWindows() throws SQLException, IOException {
+        // Arrange
+        ReflectionTestUtils.setField(jsonService, "spillFormat", SpillFormat.BINARY);
+        ReflectionTestUtils.setField(jsonService, "mmapWindowSize", 4096);
+        TableDefinition table = new TableDefinition("notes", new ArrayList<>(), null, null, null, null);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:mapped");
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE notes (id BIGINT PRIMARY KEY, body VARCHAR(300), ratio DOUBLE PRECISION, hash VARBINARY(8), \"situação\" VARCHAR(10))");
+            stmt.execute("INSERT INTO notes SELECT X, REPEAT('nota ' || X, 1 + MOD(X, 20)), X / 3.0, X'0102030405060708', 'ok' FROM SYSTEM_RANGE(1, 2000)");
+            jsonService.writeStream(stmt.executeQuery("SELECT * FROM notes ORDER BY id"), "tables/notes", table);
+        }
+        Path tablePath = tempDir.resolve("tables/notes.bin");
+
+        // Act
+        List<Map<String, Object>> mapped = jsonService.readTableData(tablePath);
+        ReflectionTestUtils.setField(jsonService, "mmapEnabled", false);
+        List<Map<String, Object>> streamed = jsonService.readTableData(tablePath);
+
+        // Assert
+        assertThat(Files.size(tablePath)).isGreaterThan(4096 * 10);
+        assertThat(mapped).hasSize(2000);
+        for (int i = 0; i < streamed.size(); i++) {
+            assertThat(mapped.get(i)).containsEntry("ID", streamed.get(i).get("ID")).containsEntry("BODY", streamed.get(i).get("BODY"))
+                    .containsEntry("RATIO", streamed.get(i).get("RATIO")).containsEntry("situação", "ok");
+            assertThat((byte[]) mapped.get(i).get("HASH")).isEqualTo(streamed.get(i).get("HASH"));
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.gabrielrq.database_converter.service;
 
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.DatabaseDefinition;
+import com.gabrielrq.database_converter.domain.TableDefinition;
 import com.gabrielrq.database_converter.dto.SqlDTO;
 import com.gabrielrq.database_converter.dto.SqlPageDTO;
+import com.gabrielrq.database_converter.util.spill.SpillReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,10 +18,16 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.BatchUpdateException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,10 +46,11 @@ class SqlServiceTest {
 
     @BeforeEach
     void setUp() {
-        sqlService = new SqlService(jsonService);
+        sqlService = new SqlService(jsonService, new DataFileService());
         ReflectionTestUtils.setField(sqlService, "basePath", tempDir.toString());
         ReflectionTestUtils.setField(sqlService, "ddlPath", "ddl");
         ReflectionTestUtils.setField(sqlService, "dmlPath", "dml");
+        ReflectionTestUtils.setField(sqlService, "dmlDeltaPath", "dml-delta");
     }
 
     @Test
@@ -96,4 +107,192 @@ class SqlServiceTest {
         // Assert
         verify(statement, times(3)).execute(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve gerar upserts pela chave primária para os deltas da sincronização")
+    void shouldGenerateUpsertDML() throws IOException {
+        // Arrange
+        TableDefinition table = new TableDefinition(
+                "users",
+                List.of(
+                        new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", 10, 10, 0, false, false, null, 1),
+                        new ColumnDefinition("name", Types.VARCHAR, "varchar", "VARCHAR", 50, 50, 0, true, false, null, 2)
+                ),
+                List.of("id"), List.of(), List.of(), null
+        );
+        Path deltaFile = tempDir.resolve("migration-id/deltas/users.bin");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("name", "Gabriel");
+
+        when(jsonService.resolveTableData(tempDir.resolve("migration-id/deltas"), "users")).thenReturn(deltaFile);
+        SpillReader reader = mock(SpillReader.class);
+        when(reader.next()).thenReturn(row).thenReturn(null);
+        when(jsonService.openTableData(deltaFile)).thenReturn(reader);
+
+        // Act
+        sqlService.generateUpsertDML("migration-id", List.of(table), "POSTGRES");
+
+        // Assert
+        String dml = Files.readString(tempDir.resolve("migration-id/dml-delta/users.sql"));
+        assertThat(dml).contains("INSERT INTO users (id,name) VALUES (1,'Gabriel') ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name;");
+    }
+
+    @Test
+    @DisplayName("Deve agrupar os comandos em lotes do tamanho configurado")
+    void shouldExecuteStatementsInBatches() throws IOException, java.sql.SQLException {
+        // Arrange
+        ReflectionTestUtils.setField(sqlService, "loadBatchSize", 2);
+        Path sqlFile = tempDir.resolve("batch.sql");
+        Files.writeString(sqlFile, """
+                INSERT INTO users (id,name) VALUES (1,'Ana');
+                INSERT INTO users (id,name) VALUES (2,'Bia');
+                INSERT INTO users (id,name) VALUES (3,'Caio');
+                """);
+
+        // Act
+        sqlService.bufferReadAndExec(Path.of("batch.sql"), statement);
+
+        // Assert
+        verify(statement, times(3)).addBatch(anyString());
+        verify(statement, times(2)).executeBatch();
+        verify(statement, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve indicar o comando que falhou no lote")
+    void shouldReportFailedStatementOfBatch() throws IOException, java.sql.SQLException {
+        // Arrange
+        ReflectionTestUtils.setField(sqlService, "loadBatchSize", 2);
+        Path sqlFile = tempDir.resolve("batch.sql");
+        Files.writeString(sqlFile, """
+                INSERT INTO users (id,name) VALUES (1,'Ana');
+                INSERT INTO users (id,name) VALUES (2,'Bia');
+                INSERT INTO users (id,name) VALUES (3,'Caio');
+                """);
+        // O driver para na falha: só o primeiro comando do lote tem contador
+        when(statement.executeBatch()).thenThrow(new BatchUpdateException("duplicate key", "23505", 0, new int[]{1}));
+
+        // Act
+        java.sql.SQLException exception = assertThrows(java.sql.SQLException.class, () -> sqlService.bufferReadAndExec(Path.of("batch.sql"), statement));
+
+        // Assert
+        assertThat(exception.getMessage())
+                .contains("comando 2 do arquivo")
+                .contains("INSERT INTO users (id,name) VALUES (2,'Bia')")
+                .contains("duplicate key");
+        assertThat(exception.getSQLState()).isEqualTo("23505");
+        verify(statement, times(1)).executeBatch();
+    }
+
+    @Test
+    @DisplayName("Deve executar um EXECUTE BLOCK inteiro como um único comando")
+    void shouldExecuteFirebirdBlockAsSingleStatement() throws IOException, java.sql.SQLException {
+        // Arrange
+        Path sqlFile = tempDir.resolve("block.sql");
+        Files.writeString(sqlFile, """
+                EXECUTE BLOCK AS BEGIN
+                INSERT INTO users (id,name) VALUES (1,'Ana');
+                INSERT INTO users (id,name) VALUES (2,'Bia');
+                END;
+                INSERT INTO users (id,name) VALUES (3,'Caio');
+                """);
+
+        // Act
+        sqlService.bufferReadAndExec(Path.of("block.sql"), statement);
+
+        // Assert
+        verify(statement).execute(startsWith("EXECUTE BLOCK AS BEGIN INSERT INTO users (id,name) VALUES (1,'Ana'); INSERT"));
+        verify(statement).execute("INSERT INTO users (id,name) VALUES (3,'Caio'); ");
+        verify(statement, times(2)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve gravar os INSERTs conforme as linhas são lidas e não gerar arquivo para tabela vazia")
+    void shouldStreamDMLFromSpillReader() throws IOException {
+        // Arrange
+        TableDefinition users = new TableDefinition(
+                "users",
+                List.of(
+                        new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", 10, 10, 0, false, false, null, 1),
+                        new ColumnDefinition("name", Types.VARCHAR, "varchar", "VARCHAR", 50, 50, 0, true, false, null, 2)
+                ),
+                List.of("id"), List.of(), List.of(), null
+        );
+        TableDefinition empty = new TableDefinition("empty", List.of(), List.of(), List.of(), List.of(), null);
+        Path tablesPath = tempDir.resolve("migration-id/tables");
+        Path usersFile = tablesPath.resolve("users.bin");
+        Path emptyFile = tablesPath.resolve("empty.bin");
+
+        SpillReader usersReader = mock(SpillReader.class);
+        when(usersReader.next()).thenReturn(userRow(1, "Ana"), userRow(2, null), userRow(3, "O'Neil"), null);
+        SpillReader emptyReader = mock(SpillReader.class);
+        when(emptyReader.next()).thenReturn(null);
+
+        when(jsonService.resolveTableData(tablesPath, "users")).thenReturn(usersFile);
+        when(jsonService.resolveTableData(tablesPath, "empty")).thenReturn(emptyFile);
+        when(jsonService.openTableData(usersFile)).thenReturn(usersReader);
+        when(jsonService.openTableData(emptyFile)).thenReturn(emptyReader);
+
+        // Act
+        sqlService.generateDML("migration-id", new DatabaseDefinition("db", null, List.of(users, empty), "utf-8"), "POSTGRES");
+
+        // Assert
+        assertThat(Files.readAllLines(tempDir.resolve("migration-id/dml/users.sql"))).containsExactly(
+                "INSERT INTO users (id,name) VALUES (1,'Ana');",
+                "INSERT INTO users (id,name) VALUES (2,NULL);",
+                "INSERT INTO users (id,name) VALUES (3,'O''Neil');"
+        );
+        assertThat(Files.exists(tempDir.resolve("migration-id/dml/empty.sql"))).isFalse();
+        verify(usersReader).close();
+        verify(emptyReader).close();
+    }
+
+    @Test
+    @DisplayName("Deve gerar SQL das tabelas em paralelo e registrar a falha de uma tabela sem interromper as demais")
+    void shouldGenerateTablesInParallelAndCollectFailures() throws IOException {
+        // Arrange
+        List<ColumnDefinition> columns = List.of(
+                new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", 10, 10, 0, false, false, null, 1),
+                new ColumnDefinition("name", Types.VARCHAR, "varchar", "VARCHAR", 50, 50, 0, true, false, null, 2)
+        );
+        TableDefinition users = new TableDefinition("users", columns, List.of("id"), List.of(), List.of(), null);
+        TableDefinition orders = new TableDefinition("orders", columns, List.of("id"), List.of(), List.of(), null);
+        Path tablesPath = tempDir.resolve("migration-id/tables");
+        Path usersFile = tablesPath.resolve("users.bin");
+        Path ordersFile = tablesPath.resolve("orders.bin");
+        ReflectionTestUtils.setField(sqlService, "threads", 2);
+        ReflectionTestUtils.setField(sqlService, "batchBytes", 0L);
+
+        SpillReader usersReader = mock(SpillReader.class);
+        when(usersReader.next()).thenReturn(userRow(1, "Ana"), (Map<String, Object>) null);
+        SpillReader ordersReader = mock(SpillReader.class);
+        when(ordersReader.next()).thenReturn(userRow(1, "Bia")).thenThrow(new IOException("arquivo truncado"));
+
+        when(jsonService.resolveTableData(tablesPath, "users")).thenReturn(usersFile);
+        when(jsonService.resolveTableData(tablesPath, "orders")).thenReturn(ordersFile);
+        when(jsonService.openTableData(usersFile)).thenReturn(usersReader);
+        when(jsonService.openTableData(ordersFile)).thenReturn(ordersReader);
+
+        // Act
+        Map<String, String> failedTables = sqlService.generate(
+                "migration-id", new DatabaseDefinition("db", null, List.of(users, orders), "utf-8"), Map.of(), "POSTGRES"
+        );
+
+        // Assert
+        assertThat(failedTables).containsOnlyKeys("orders");
+        assertThat(failedTables.get("orders")).contains("arquivo truncado");
+        assertThat(Files.readString(tempDir.resolve("migration-id/ddl/users.sql"))).startsWith("CREATE TABLE users");
+        assertThat(Files.readAllLines(tempDir.resolve("migration-id/dml/users.sql")))
+                .containsExactly("INSERT INTO users (id,name) VALUES (1,'Ana');");
+        assertThat(Files.exists(tempDir.resolve("migration-id/ddl/orders.sql"))).isFalse();
+        assertThat(Files.exists(tempDir.resolve("migration-id/dml/orders.sql"))).isFalse();
+    }
+
+    private static Map<String, Object> userRow(long id, String name) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        return row;
+    }
+}
@@ -3,12 +3,14 @@ package com.gabrielrq.database_converter.service.etl;
 import com.gabrielrq.database_converter.domain.DatabaseDefinition;
 import com.gabrielrq.database_converter.domain.MigrationStatus;
 import com.gabrielrq.database_converter.domain.MigrationStatusMetadata;
+import com.gabrielrq.database_converter.domain.TableDefinition;
 import com.gabrielrq.database_converter.domain.TransformationResult;
 import com.gabrielrq.database_converter.dto.ConsistencyValidationDataDTO;
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
 import com.gabrielrq.database_converter.enums.EtlStep;
 import com.gabrielrq.database_converter.repository.EtlStatusRepository;
 import com.gabrielrq.database_converter.service.ConsistencyValidationService;
+import com.gabrielrq.database_converter.service.DatabaseConnectionService;
 import com.gabrielrq.database_converter.service.SseService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,6 +27,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -37,6 +40,7 @@ class AsyncEtlExecutorServiceTest {
     @Mock private ConsistencyValidationService validationService;
     @Mock private EtlStatusRepository statusRepository;
     @Mock private SseService sseService;
+    @Mock private DatabaseConnectionService connectionService;
 
     @InjectMocks
     private AsyncEtlExecutorService asyncExecutor;
@@ -73,13 +77,13 @@ class AsyncEtlExecutorServiceTest {
     void shouldExecuteExtractionSuccessfully() {
         // Arrange
         DatabaseDefinition mockDbDef = mock(DatabaseDefinition.class);
-        when(extractionService.extract(any(), any())).thenReturn(mockDbDef);
+        when(extractionService.extract(any(), any(), any(), anyBoolean(), any())).thenReturn(mockDbDef);
 
         // Act
         asyncExecutor.startExtraction(status);
 
         // Assert
-        verify(extractionService).extract(eq(status.getId().toString()), eq(metadata.getOriginConfig()));
+        verify(extractionService).extract(eq(status.getId().toString()), eq(metadata.getOriginConfig()), eq(metadata.getTableSpecs()), eq(false), eq(metadata.getTarget()));
 
         assertThat(savedSteps).containsExactly(
                 EtlStep.EXTRACTION_IN_PROGRESS,
@@ -87,13 +91,15 @@ class AsyncEtlExecutorServiceTest {
         );
         assertThat(status.getMetadata().getDatabaseMetadata()).isEqualTo(mockDbDef);
         verify(sseService, atLeast(2)).sendMigrationStatusUpdate(status);
+        verify(connectionService).openPools(status.getId(), metadata.getOriginConfig(), metadata.getTargetConfig());
+        verify(connectionService).closePools(status.getId());
     }
 
     @Test
     @DisplayName("Extração: Deve capturar erro e atualizar status para ERROR")
     void shouldHandleExtractionError() {
         // Arrange
-        doThrow(new RuntimeException("Falha na conexão")).when(extractionService).extract(any(), any());
+        doThrow(new RuntimeException("Falha na conexão")).when(extractionService).extract(any(), any(), any(), anyBoolean(), any());
 
         // Act
         asyncExecutor.startExtraction(status);
@@ -105,6 +111,28 @@ class AsyncEtlExecutorServiceTest {
         verify(sseService, atLeastOnce()).sendMigrationStatusUpdate(status);
     }
 
+    @Test
+    @DisplayName("Extração: Deve retomar extração com falha a partir dos manifestos")
+    void shouldResumeExtraction() {
+        // Arrange
+        status.setStep(EtlStep.ERROR);
+        status.setMessage("Falha na conexão");
+        DatabaseDefinition mockDbDef = mock(DatabaseDefinition.class);
+        when(extractionService.extract(any(), any(), any(), anyBoolean(), any())).thenReturn(mockDbDef);
+
+        // Act
+        asyncExecutor.resumeExtraction(status);
+
+        // Assert
+        verify(extractionService).extract(eq(status.getId().toString()), eq(metadata.getOriginConfig()), eq(metadata.getTableSpecs()), eq(true), eq(metadata.getTarget()));
+        assertThat(savedSteps).containsExactly(
+                EtlStep.EXTRACTION_IN_PROGRESS,
+                EtlStep.EXTRACTION_FINISHED
+        );
+        assertThat(status.getMessage()).isNull();
+        assertThat(status.getMetadata().getDatabaseMetadata()).isEqualTo(mockDbDef);
+    }
+
     // --- TRANSFORMATION TESTS ---
 
     @Test
@@ -142,6 +170,30 @@ class AsyncEtlExecutorServiceTest {
         assertThat(status.getMessage()).isEqualTo("Erro de mapeamento");
     }
 
+    // --- SYNC TESTS ---
+
+    @Test
+    @DisplayName("Sincronização: Deve extrair, transformar e carregar apenas os deltas")
+    void shouldExecuteSyncSuccessfully() {
+        // Arrange
+        TableDefinition table = new TableDefinition("users", new ArrayList<>(), List.of("id"), List.of(), List.of(), null);
+        metadata.setDatabaseMetadata(mock(DatabaseDefinition.class));
+        metadata.setExecutionOrder(List.of(table));
+
+        when(extractionService.extractDeltas(any(), any(), any(), any())).thenReturn(List.of(table));
+        when(transformationService.transformDeltas(any(), any(), eq(List.of(table)), eq("POSTGRES"))).thenReturn(List.of(table));
+
+        // Act
+        asyncExecutor.startSync(status);
+
+        // Assert
+        verify(loadingService).loadDeltas(eq(status.getId().toString()), eq(metadata.getTargetConfig()), eq(List.of(table)), eq(List.of(table)));
+        assertThat(savedSteps).containsExactly(
+                EtlStep.SYNC_IN_PROGRESS,
+                EtlStep.SYNC_FINISHED
+        );
+    }
+
     // --- LOADING TESTS ---
 
     @Test
@@ -160,6 +212,7 @@ class AsyncEtlExecutorServiceTest {
                 EtlStep.LOAD_IN_PROGRESS,
                 EtlStep.LOAD_FINISHED
         );
+        verify(connectionService).closePools(status.getId());
     }
 
     @Test
@@ -182,18 +235,20 @@ class AsyncEtlExecutorServiceTest {
     void shouldExecuteValidationSuccessfully() {
         // Arrange
         ConsistencyValidationDataDTO validationData = new ConsistencyValidationDataDTO(true, true, true, List.of("OK"));
-        when(validationService.validate(any(), any(), any())).thenReturn(validationData);
+        when(validationService.validate(any(), any(), any(), any())).thenReturn(validationData);
 
         // Act
         asyncExecutor.startConsistencyValidation(status);
 
         // Assert
-        verify(validationService).validate(eq(status.getId().toString()), eq(metadata.getOriginConfig()), eq(metadata.getTargetConfig()));
+        verify(validationService).validate(eq(status.getId().toString()), eq(metadata.getOriginConfig()), eq(metadata.getTargetConfig()), eq(metadata.getTableSpecs()));
         assertThat(savedSteps).containsExactly(
                 EtlStep.VALIDATION_IN_PROGRESS,
                 EtlStep.FINISHED
         );
         assertThat(status.getMessage()).contains("OK");
+        verify(connectionService).openPools(status.getId(), metadata.getOriginConfig(), metadata.getTargetConfig());
+        verify(connectionService).closePools(status.getId());
         verify(sseService).completeSseEmitter(status.getId());
     }
 
@@ -201,13 +256,14 @@ class AsyncEtlExecutorServiceTest {
     @DisplayName("Validação: Deve tratar erro e fechar SSE mesmo assim")
     void shouldHandleValidationError() {
         // Arrange
-        doThrow(new RuntimeException("Erro de comparação")).when(validationService).validate(any(), any(), any());
+        doThrow(new RuntimeException("Erro de comparação")).when(validationService).validate(any(), any(), any(), any());
 
         // Act
         asyncExecutor.startConsistencyValidation(status);
 
         // Assert
         assertThat(savedSteps.getLast()).isEqualTo(EtlStep.ERROR);
+        verify(connectionService).closePools(status.getId());
         verify(sseService).completeSseEmitter(status.getId());
     }
 }
\ No newline at end of file
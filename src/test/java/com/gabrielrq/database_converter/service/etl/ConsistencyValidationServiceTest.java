@@ -55,7 +55,7 @@ class ConsistencyValidationServiceTest {
         TableDefinition table = new TableDefinition("users", List.of(col), null, null, null, null);
         DatabaseDefinition metadata = new DatabaseDefinition("db", "public", List.of(table), "utf-8");
 
-        when(extractionService.parseMetadata(any(), any())).thenReturn(metadata);
+        when(extractionService.parseMetadata(any(), any(), any())).thenReturn(metadata);
 
         try (MockedStatic<DatabaseConnectionService> dbServiceMock = mockStatic(DatabaseConnectionService.class)) {
             dbServiceMock.when(() -> DatabaseConnectionService.createConnection(any())).thenReturn(connection);
@@ -84,7 +84,7 @@ class ConsistencyValidationServiceTest {
         DatabaseDefinition metaOrigin = new DatabaseDefinition("origin", "public", List.of(tableOrigin), "utf-8");
         DatabaseDefinition metaTarget = new DatabaseDefinition("target", "public", Collections.emptyList(), "utf-8");
 
-        when(extractionService.parseMetadata(any(), any()))
+        when(extractionService.parseMetadata(any(), any(), any()))
                 .thenReturn(metaOrigin)
                 .thenReturn(metaTarget);
 
@@ -112,7 +112,7 @@ class ConsistencyValidationServiceTest {
         TableDefinition table = new TableDefinition("users", Collections.emptyList(), null, null, null, null);
         DatabaseDefinition metadata = new DatabaseDefinition("db", "public", List.of(table), "utf-8");
 
-        when(extractionService.parseMetadata(any(), any())).thenReturn(metadata);
+        when(extractionService.parseMetadata(any(), any(), any())).thenReturn(metadata);
 
         try (MockedStatic<DatabaseConnectionService> dbServiceMock = mockStatic(DatabaseConnectionService.class)) {
             dbServiceMock.when(() -> DatabaseConnectionService.createConnection(any())).thenReturn(connection);
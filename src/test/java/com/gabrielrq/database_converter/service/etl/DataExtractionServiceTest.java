@@ -1,24 +1,53 @@
 package com.gabrielrq.database_converter.service.etl;
 
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
 import com.gabrielrq.database_converter.domain.DatabaseDefinition;
+import com.gabrielrq.database_converter.domain.SpillResult;
 import com.gabrielrq.database_converter.domain.TableDefinition;
+import com.gabrielrq.database_converter.domain.TableStatistics;
+import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
+import com.gabrielrq.database_converter.dto.TableExtractionSpecDTO;
+import com.gabrielrq.database_converter.enums.ExecutorMode;
 import com.gabrielrq.database_converter.service.JsonService;
+import com.gabrielrq.database_converter.util.migration.MigrationLogger;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -81,4 +110,283 @@ class DataExtractionServiceTest {
         assertThat(table.primaryKeyColumns()).containsExactly("ID");
         assertThat(table.columns()).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve ler o catálogo do Postgres em lote, sem consultas por tabela")
+    void shouldParsePostgresMetadataInBulk() throws SQLException {
+        // Arrange
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        ResultSet tablesRs = mock(ResultSet.class);
+        ResultSet columnsRs = mock(ResultSet.class);
+        PreparedStatement keysStmt = mock(PreparedStatement.class);
+        PreparedStatement fkStmt = mock(PreparedStatement.class);
+        ResultSet keysRs = mock(ResultSet.class);
+        ResultSet fkRs = mock(ResultSet.class);
+        PreparedStatement statsStmt = mock(PreparedStatement.class);
+        ResultSet statsRs = mock(ResultSet.class);
+
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.getSchema()).thenReturn("public");
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+
+        when(metaData.getTables(any(), any(), any(), any())).thenReturn(tablesRs);
+        when(tablesRs.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(tablesRs.getString("TABLE_NAME")).thenReturn("users").thenReturn("orders");
+
+        when(metaData.getColumns(any(), eq("public"), eq("%"), eq("%"))).thenReturn(columnsRs);
+        when(columnsRs.next()).thenReturn(true).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(columnsRs.getString("TABLE_NAME")).thenReturn("users").thenReturn("orders").thenReturn("orders");
+        when(columnsRs.getString("COLUMN_NAME")).thenReturn("id").thenReturn("id").thenReturn("user_id");
+        when(columnsRs.getString("TYPE_NAME")).thenReturn("int4");
+        when(columnsRs.getString("COLUMN_DEF")).thenReturn(null);
+        when(columnsRs.getString("IS_NULLABLE")).thenReturn("NO");
+        when(columnsRs.getString("IS_AUTOINCREMENT")).thenReturn("NO");
+
+        when(connection.prepareStatement(any())).thenReturn(keysStmt).thenReturn(fkStmt).thenReturn(statsStmt);
+        when(keysStmt.executeQuery()).thenReturn(keysRs);
+        when(keysRs.next()).thenReturn(true).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(keysRs.getString("TABLE_NAME")).thenReturn("users").thenReturn("orders").thenReturn("orders");
+        when(keysRs.getString("COLUMN_NAME")).thenReturn("id").thenReturn("id").thenReturn("user_id");
+        when(keysRs.getString("INDEX_NAME")).thenReturn("orders_user_key");
+        when(keysRs.getBoolean("IS_PRIMARY")).thenReturn(true).thenReturn(true).thenReturn(false);
+
+        when(fkStmt.executeQuery()).thenReturn(fkRs);
+        when(fkRs.next()).thenReturn(true).thenReturn(false);
+        when(fkRs.getString("TABLE_NAME")).thenReturn("orders");
+        when(fkRs.getString("FK_NAME")).thenReturn("orders_user_fk");
+        when(fkRs.getString("PKTABLE_NAME")).thenReturn("users");
+        when(fkRs.getString("FKCOLUMN_NAME")).thenReturn("user_id");
+        when(fkRs.getString("PKCOLUMN_NAME")).thenReturn("id");
+
+        when(statsStmt.executeQuery()).thenReturn(statsRs);
+        when(statsRs.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(statsRs.getString("TABLE_NAME")).thenReturn("users").thenReturn("orders");
+        when(statsRs.getLong("ROW_COUNT")).thenReturn(100L).thenReturn(-1L);
+        when(statsRs.getLong("BYTE_COUNT")).thenReturn(8192L).thenReturn(65536L);
+
+        // Act
+        DatabaseDefinition result = extractionService.parseMetadata("test_db", connection);
+
+        // Assert
+        assertThat(result.tables()).extracting(TableDefinition::name).containsExactly("users", "orders");
+
+        TableDefinition orders = result.tables().get(1);
+        assertThat(orders.columns()).hasSize(2);
+        assertThat(orders.primaryKeyColumns()).containsExactly("id");
+        assertThat(orders.uniqueConstraints()).containsExactly(List.of("user_id"));
+        assertThat(orders.foreignKeys()).singleElement()
+                .satisfies(fk -> assertThat(fk.referencedTable()).isEqualTo("users"));
+        verify(metaData, never()).getPrimaryKeys(any(), any(), any());
+
+        assertThat(result.statistics()).containsEntry("users", new TableStatistics(100, 8192));
+        assertThat(result.statistics()).containsEntry("orders", new TableStatistics(0, 65536));
+    }
+
+    @Test
+    @DisplayName("Deve exportar o snapshot do Postgres na coordenadora e importá-lo nos workers")
+    void shouldExportAndImportPostgresSnapshot() throws SQLException {
+        // Arrange
+        ReflectionTestUtils.setField(extractionService, "consistentSnapshot", true);
+        Connection coordinator = mock(Connection.class);
+        Connection worker = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        Statement exportStmt = mock(Statement.class);
+        Statement importStmt = mock(Statement.class);
+        ResultSet snapshotRs = mock(ResultSet.class);
+
+        when(coordinator.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(coordinator.createStatement()).thenReturn(exportStmt);
+        when(exportStmt.executeQuery("SELECT pg_export_snapshot()")).thenReturn(snapshotRs);
+        when(snapshotRs.next()).thenReturn(true);
+        when(snapshotRs.getString(1)).thenReturn("00000003-0000001B-1");
+        when(worker.createStatement()).thenReturn(importStmt);
+
+        // Act
+        String snapshot = extractionService.exportSnapshot(coordinator);
+        DataExtractionService.importSnapshot(worker, snapshot);
+
+        // Assert
+        assertThat(snapshot).isEqualTo("00000003-0000001B-1");
+        InOrder coordinatorOrder = inOrder(coordinator);
+        coordinatorOrder.verify(coordinator).rollback();
+        coordinatorOrder.verify(coordinator).setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        verify(worker).setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        verify(importStmt).execute("SET TRANSACTION SNAPSHOT '00000003-0000001B-1'");
+    }
+
+    @Test
+    @DisplayName("Sessão de COPY deve fixar bytea_output só na transação, sem alterar a conexão do pool")
+    void shouldScopeCopyByteaOutputToTransaction() throws SQLException {
+        // Arrange
+        Connection worker = mock(Connection.class);
+        Statement stmt = mock(Statement.class);
+        when(worker.createStatement()).thenReturn(stmt);
+
+        // Act
+        DataExtractionService.copySession(DataExtractionService.importSnapshot(worker, "00000003-0000001B-1"));
+
+        // Assert
+        InOrder order = inOrder(stmt);
+        order.verify(stmt).execute("SET TRANSACTION SNAPSHOT '00000003-0000001B-1'");
+        order.verify(stmt).execute("SET LOCAL bytea_output = 'hex'");
+        verify(stmt, never()).execute("SET bytea_output = 'hex'");
+    }
+
+    @Test
+    @DisplayName("Modo virtual deve limitar as extrações simultâneas pelas permissões de conexão e propagar o MDC")
+    void shouldLimitVirtualThreadExtractionByConnectionPermits() throws SQLException {
+        // Arrange
+        ReflectionTestUtils.setField(extractionService, "executorMode", ExecutorMode.VIRTUAL);
+        ReflectionTestUtils.setField(extractionService, "threadPoolSize", 2);
+        DbConnectionConfigDTO config = new DbConnectionConfigDTO("virtual", "jdbc:h2:mem:virtual;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver");
+        try (Connection connection = DriverManager.getConnection(config.jdbcUrl(), config.username(), config.password());
+             Statement stmt = connection.createStatement()) {
+            for (int i = 0; i < 6; i++) {
+                stmt.execute("CREATE TABLE t" + i + " (id INT PRIMARY KEY)");
+            }
+        }
+
+        UUID migrationId = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> migrationIds = ConcurrentHashMap.newKeySet();
+        when(jsonService.writeStream(any(), any(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            migrationIds.add(String.valueOf(MDC.get("migrationId")));
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return SpillResult.EMPTY;
+        });
+
+        // Act
+        DatabaseDefinition result = MigrationLogger.withMigration(migrationId, () -> extractionService.extract(migrationId.toString(), config, Map.of()));
+
+        // Assert
+        assertThat(result.tables()).hasSize(6);
+        verify(jsonService, times(6)).writeStream(any(), any(), any());
+        assertThat(maxRunning.get()).isBetween(1, 2);
+        assertThat(migrationIds).containsExactly(migrationId.toString());
+    }
+
+    @Test
+    @DisplayName("Modo virtual deve dar a cada migração as próprias permissões de conexão")
+    void shouldGiveEachMigrationItsOwnConnectionPermits() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(extractionService, "executorMode", ExecutorMode.VIRTUAL);
+        ReflectionTestUtils.setField(extractionService, "threadPoolSize", 1);
+        List<DbConnectionConfigDTO> configs = new ArrayList<>();
+        for (int m = 0; m < 2; m++) {
+            DbConnectionConfigDTO config = new DbConnectionConfigDTO("permits" + m, "jdbc:h2:mem:permits" + m + ";DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver");
+            try (Connection connection = DriverManager.getConnection(config.jdbcUrl(), config.username(), config.password());
+                 Statement stmt = connection.createStatement()) {
+                for (int i = 0; i < 3; i++) {
+                    stmt.execute("CREATE TABLE t" + i + " (id INT PRIMARY KEY)");
+                }
+            }
+            configs.add(config);
+        }
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        when(jsonService.writeStream(any(), any(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            bothRunning.countDown();
+            bothRunning.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return SpillResult.EMPTY;
+        });
+
+        // Act
+        List<Future<DatabaseDefinition>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (DbConnectionConfigDTO config : configs) {
+                results.add(executor.submit(() -> extractionService.extract(UUID.randomUUID().toString(), config, Map.of())));
+            }
+            for (Future<DatabaseDefinition> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        // Assert
+        assertThat(maxRunning.get()).isEqualTo(2);
+        verify(jsonService, times(6)).writeStream(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve ler da origem só as colunas projetadas e as linhas do filtro da especificação")
+    void shouldPushDownColumnProjectionAndRowFilter() {
+        // Arrange
+        ReflectionTestUtils.setField(extractionService, "threadPoolSize", 1);
+        DbConnectionConfigDTO config = new DbConnectionConfigDTO("projection", "jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver");
+        try (Connection connection = DriverManager.getConnection(config.jdbcUrl(), config.username(), config.password());
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE products (id INT PRIMARY KEY, name VARCHAR(50), notes VARCHAR(500), deleted BOOLEAN)");
+            stmt.execute("INSERT INTO products VALUES (1, 'a', 'x', FALSE), (2, 'b', 'y', TRUE), (3, 'c', 'z', FALSE)");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+
+        List<String> selectedColumns = new ArrayList<>();
+        List<Integer> selectedIds = new ArrayList<>();
+        when(jsonService.writeStream(any(), any(), any())).thenAnswer(invocation -> {
+            ResultSet rs = invocation.getArgument(0);
+            for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                selectedColumns.add(rs.getMetaData().getColumnName(i));
+            }
+            while (rs.next()) {
+                selectedIds.add(rs.getInt(1));
+            }
+            return SpillResult.EMPTY;
+        });
+
+        // Act
+        DatabaseDefinition result = extractionService.extract(
+                "projection", config, Map.of("products", new TableExtractionSpecDTO(null, List.of("name"), "deleted = FALSE"))
+        );
+
+        // Assert
+        assertThat(result.tables().getFirst().columns()).extracting(ColumnDefinition::name).containsExactly("ID", "NAME");
+        assertThat(selectedColumns).containsExactly("ID", "NAME");
+        assertThat(selectedIds).containsExactly(1, 3);
+    }
+
+    @Test
+    @DisplayName("Deve citar tabela e colunas com palavras reservadas e caixa mista nas consultas de extração")
+    void shouldQuoteReservedAndMixedCaseIdentifiers() {
+        // Arrange
+        ReflectionTestUtils.setField(extractionService, "threadPoolSize", 1);
+        DbConnectionConfigDTO config = new DbConnectionConfigDTO("quoted", "jdbc:h2:mem:quoted;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver");
+        try (Connection connection = DriverManager.getConnection(config.jdbcUrl(), config.username(), config.password());
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE \"lineItems\" (\"id\" INT PRIMARY KEY, \"order\" INT, \"createdAt\" TIMESTAMP, \"value\" VARCHAR(10))");
+            stmt.execute("INSERT INTO \"lineItems\" VALUES (1, 10, TIMESTAMP '2024-01-01 00:00:00', 'a'), (2, 20, TIMESTAMP '2024-01-02 00:00:00', 'b')");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+
+        List<String> selectedColumns = new ArrayList<>();
+        List<Integer> selectedOrders = new ArrayList<>();
+        when(jsonService.writeStream(any(), any(), any())).thenAnswer(invocation -> {
+            ResultSet rs = invocation.getArgument(0);
+            for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                selectedColumns.add(rs.getMetaData().getColumnName(i));
+            }
+            while (rs.next()) {
+                selectedOrders.add(rs.getInt("order"));
+            }
+            return SpillResult.EMPTY;
+        });
+
+        // Act
+        extractionService.extract(
+                "quoted", config, Map.of("lineItems", new TableExtractionSpecDTO("createdat", List.of("order"), "\"order\" > 5"))
+        );
+
+        // Assert
+        assertThat(selectedColumns).containsExactly("id", "order", "createdAt");
+        assertThat(selectedOrders).containsExactly(10, 20);
+    }
+}
@@ -1,29 +1,40 @@
 package com.gabrielrq.database_converter.service.etl;
 
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
 import com.gabrielrq.database_converter.domain.DatabaseDefinition;
 import com.gabrielrq.database_converter.domain.TableDefinition;
 import com.gabrielrq.database_converter.domain.TransformationResult;
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
 import com.gabrielrq.database_converter.exception.LoadingException;
+import com.gabrielrq.database_converter.service.DataFileService;
 import com.gabrielrq.database_converter.service.DatabaseConnectionService;
+import com.gabrielrq.database_converter.service.JsonService;
 import com.gabrielrq.database_converter.service.SqlService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -37,6 +48,12 @@ class DataLoadingServiceTest {
     @Mock
     private SqlService sqlService;
 
+    @Mock
+    private JsonService jsonService;
+
+    @Mock
+    private DataFileService dataFileService;
+
     @Mock
     private JdbcTemplate jdbcTemplate;
 
@@ -160,4 +177,65 @@ class DataLoadingServiceTest {
             assertThat(exception.getMessage()).contains("Erro ao executar DML");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve carregar via COPY FROM as cópias brutas do COPY em destino Postgres, sem executar o DML")
+    void shouldLoadRawCopiesWithCopyIn(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        String identifier = "migration-id";
+        DbConnectionConfigDTO config = new DbConnectionConfigDTO("target", "url", "user", "pass", "driver");
+        ColumnDefinition id = new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", null, null, null, false, false, null, 1);
+        ColumnDefinition name = new ColumnDefinition("name", Types.VARCHAR, "varchar", "VARCHAR(50)", 50, null, null, true, false, null, 2);
+        TableDefinition table = new TableDefinition("users", List.of(name, id), List.of("id"), List.of(), List.of(), "public");
+        Path rawCopy = Files.writeString(tempDir.resolve("00000.csv"), "1,Ana\n2,\n");
+
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(jsonService.listRawCopies(Path.of(identifier).resolve("tables/users").toString())).thenReturn(List.of(rawCopy));
+        when(dataFileService.openInput(rawCopy)).thenAnswer(invocation -> Files.newInputStream(rawCopy));
+
+        try (MockedStatic<DatabaseConnectionService> mockedDbService = mockStatic(DatabaseConnectionService.class)) {
+            mockedDbService.when(() -> DatabaseConnectionService.createJdbcTemplate(config)).thenReturn(jdbcTemplate);
+            mockedDbService.when(() -> DatabaseConnectionService.createConnection(config)).thenReturn(connection);
+            when(sqlService.read(any(Path.class))).thenReturn("CREATE TABLE users...");
+
+            // Act
+            dataLoadingService.load(identifier, config, new TransformationResult(null, List.of(table)));
+
+            // Assert
+            verify(copyManager).copyIn(eq("COPY users (id, name) FROM STDIN WITH (FORMAT csv)"), any(InputStream.class));
+            verify(sqlService, never()).bufferReadAndExec(any(Path.class), any());
+            verify(connection).commit();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar a carga quando a geração de SQL falhou para alguma tabela")
+    void shouldRefuseLoadWithFailedTables() throws IOException {
+        // Arrange
+        DbConnectionConfigDTO config = new DbConnectionConfigDTO("target", "url", "user", "pass", "driver");
+        TableDefinition table = new TableDefinition(
+                "users", Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList(), "public"
+        );
+        TransformationResult result = new TransformationResult(
+                new DatabaseDefinition("db", "public", List.of(table), "utf-8"),
+                List.of(table),
+                Map.of("users", "Tipo não suportado")
+        );
+
+        // Act
+        LoadingException exception = assertThrows(LoadingException.class, () -> dataLoadingService.load("migration-id", config, result));
+
+        // Assert
+        assertThat(exception.getMessage()).contains("users");
+        verify(sqlService, never()).read(any(Path.class));
+    }
+}
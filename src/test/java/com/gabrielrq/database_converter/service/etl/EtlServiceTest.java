@@ -1,8 +1,10 @@
 package com.gabrielrq.database_converter.service.etl;
 
 import com.gabrielrq.database_converter.domain.MigrationStatus;
+import com.gabrielrq.database_converter.domain.MigrationStatusMetadata;
 import com.gabrielrq.database_converter.dto.DbConnectionConfigDTO;
 import com.gabrielrq.database_converter.dto.StartMigrationRequestDTO;
+import com.gabrielrq.database_converter.dto.TableExtractionSpecDTO;
 import com.gabrielrq.database_converter.enums.EtlStep;
 import com.gabrielrq.database_converter.exception.InvalidMigrationStateException;
 import com.gabrielrq.database_converter.repository.EtlStatusRepository;
@@ -13,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,4 +93,111 @@ public class EtlServiceTest {
         // Assert
         verify(asyncEtlExecutorService, times(1)).startExtraction(status);
     }
+
+    @Test
+    @DisplayName("Deve retomar extração somente se ela falhou antes de concluir")
+    void shouldResumeExtractionOnlyAfterExtractionError() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        MigrationStatus status = new MigrationStatus();
+        status.setId(id);
+        status.setStep(EtlStep.ERROR);
+        status.setMetadata(new MigrationStatusMetadata());
+
+        when(statusRepository.find(id)).thenReturn(status);
+
+        // Act
+        etlService.resumeExtraction(id);
+
+        // Assert
+        verify(asyncEtlExecutorService, times(1)).resumeExtraction(status);
+
+        // Arrange
+        status.setStep(EtlStep.EXTRACTION_FINISHED);
+
+        // Act & Assert
+        assertThrows(InvalidMigrationStateException.class, () -> etlService.resumeExtraction(id));
+        verify(asyncEtlExecutorService, times(1)).resumeExtraction(any());
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar sincronização sem colunas de marca d'água configuradas")
+    void shouldNotStartSyncWithoutWatermarks() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        MigrationStatus status = new MigrationStatus();
+        status.setId(id);
+        status.setStep(EtlStep.FINISHED);
+        status.setMetadata(new MigrationStatusMetadata());
+
+        when(statusRepository.find(id)).thenReturn(status);
+
+        // Act & Assert
+        assertThrows(InvalidMigrationStateException.class, () -> etlService.startSync(id));
+        verify(asyncEtlExecutorService, never()).startSync(any());
+    }
+
+    @Test
+    @DisplayName("Deve iniciar sincronização após a carga completa")
+    void shouldStartSyncAfterLoad() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        MigrationStatus status = new MigrationStatus();
+        status.setId(id);
+        status.setStep(EtlStep.LOAD_FINISHED);
+        MigrationStatusMetadata metadata = new MigrationStatusMetadata();
+        metadata.setTableSpecs(Map.of("users", new TableExtractionSpecDTO("updated_at")));
+        status.setMetadata(metadata);
+
+        when(statusRepository.find(id)).thenReturn(status);
+
+        // Act
+        etlService.startSync(id);
+
+        // Assert
+        verify(asyncEtlExecutorService, times(1)).startSync(status);
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar carga com tabelas sem SQL gerado")
+    void shouldNotStartLoadingWithFailedTables() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        MigrationStatus status = new MigrationStatus();
+        status.setId(id);
+        status.setStep(EtlStep.WAITING_FOR_LOAD_CONFIRMATION);
+        MigrationStatusMetadata metadata = new MigrationStatusMetadata();
+        metadata.setFailedTables(Map.of("orders", "Tipo não suportado"));
+        status.setMetadata(metadata);
+
+        when(statusRepository.find(id)).thenReturn(status);
+
+        // Act
+        InvalidMigrationStateException exception = assertThrows(InvalidMigrationStateException.class, () -> etlService.startLoading(id));
+
+        // Assert
+        assertThat(exception.getMessage()).contains("orders");
+        verify(asyncEtlExecutorService, never()).startLoading(any());
+    }
+
+    @Test
+    @DisplayName("Deve permitir repetir a transformação quando houver tabelas sem SQL gerado")
+    void shouldRetryTransformationWithFailedTables() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        MigrationStatus status = new MigrationStatus();
+        status.setId(id);
+        status.setStep(EtlStep.WAITING_FOR_LOAD_CONFIRMATION);
+        MigrationStatusMetadata metadata = new MigrationStatusMetadata();
+        metadata.setFailedTables(Map.of("orders", "Tipo não suportado"));
+        status.setMetadata(metadata);
+
+        when(statusRepository.find(id)).thenReturn(status);
+
+        // Act
+        etlService.startTransformation(id);
+
+        // Assert
+        verify(asyncEtlExecutorService, times(1)).startTransformation(status);
+    }
 }
@@ -0,0 +1,55 @@
+package com.gabrielrq.database_converter.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FirebirdBlobHelperTest {
+
+    private static final Pattern CHUNK = Pattern.compile("CAST\\(x'([0-9A-F]*)' AS BLOB SUB_TYPE TEXT\\)");
+
+    @Test
+    @DisplayName("Deve codificar o texto em UTF-8 hex igual ao String.getBytes")
+    void shouldEncodeUtf8Hex() {
+        // Arrange
+        String text = "Olá, 世界 😀 'x'";
+
+        // Act
+        String result = FirebirdBlobHelper.toFirebirdBlobLiteral(text);
+
+        // Assert
+        assertThat(result).isEqualTo(
+                "CAST(x'" + HexFormat.of().withUpperCase().formatHex(text.getBytes(StandardCharsets.UTF_8)) + "' AS BLOB SUB_TYPE TEXT)"
+        );
+    }
+
+    @Test
+    @DisplayName("Deve dividir em chunks de até 30 000 dígitos sem quebrar caracteres multibyte")
+    void shouldSplitChunksOnCharacterBoundaries() {
+        // Arrange
+        String text = "a" + "é".repeat(20_000);
+
+        // Act
+        String result = FirebirdBlobHelper.toFirebirdBlobLiteral(text);
+
+        // Assert
+        Matcher matcher = CHUNK.matcher(result);
+        StringBuilder hex = new StringBuilder();
+        int chunks = 0;
+        while (matcher.find()) {
+            String chunk = matcher.group(1);
+            assertThat(chunk.length()).isLessThanOrEqualTo(30_000);
+            assertThat(new String(HexFormat.of().parseHex(chunk), StandardCharsets.UTF_8)).doesNotContain("�");
+            hex.append(chunk);
+            chunks++;
+        }
+        assertThat(chunks).isEqualTo(3);
+        assertThat(new String(HexFormat.of().parseHex(hex), StandardCharsets.UTF_8)).isEqualTo(text);
+    }
+}
@@ -0,0 +1,72 @@
+package com.gabrielrq.database_converter.util;
+
+import com.gabrielrq.database_converter.domain.KeyRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyRangeSplitterTest {
+
+    @Test
+    @DisplayName("Deve dividir o intervalo de chaves em faixas contíguas")
+    void shouldSplitKeySpanIntoContiguousRanges() {
+        // Act
+        List<KeyRange> result = KeyRangeSplitter.split(1, 25, 10, 0);
+
+        // Assert
+        assertThat(result).containsExactly(
+                new KeyRange(0, 1, 10),
+                new KeyRange(1, 11, 20),
+                new KeyRange(2, 21, 25)
+        );
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantia de faixas ao máximo configurado")
+    void shouldLimitRangeCount() {
+        // Act
+        List<KeyRange> result = KeyRangeSplitter.split(0, 999, 1, 4);
+
+        // Assert
+        assertThat(result).hasSize(4);
+        assertThat(result.getFirst().lowerBound()).isEqualTo(0);
+        assertThat(result.getLast().upperBound()).isEqualTo(999);
+    }
+
+    @Test
+    @DisplayName("Deve cobrir todo o domínio de long sem overflow")
+    void shouldHandleFullLongDomain() {
+        // Act
+        List<KeyRange> result = KeyRangeSplitter.split(Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, 0);
+
+        // Assert
+        assertThat(result).hasSize(3);
+        assertThat(result.getFirst().lowerBound()).isEqualTo(Long.MIN_VALUE);
+        assertThat(result.getLast().upperBound()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Deve usar o máximo padrão de faixas quando o limite não é configurado")
+    void shouldUseDefaultLimitWhenMaxRangesIsZero() {
+        // Act
+        List<KeyRange> result = KeyRangeSplitter.split(0, 9_999_999, 1, 0);
+
+        // Assert
+        assertThat(result).hasSize(KeyRangeSplitter.DEFAULT_MAX_RANGES);
+        assertThat(result.getLast().upperBound()).isEqualTo(9_999_999);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o limite absoluto de faixas mesmo com máximo configurado maior")
+    void shouldApplyHardCap() {
+        // Act
+        List<KeyRange> result = KeyRangeSplitter.split(0, 9_999_999, 1, Integer.MAX_VALUE);
+
+        // Assert
+        assertThat(result).hasSize(KeyRangeSplitter.MAX_RANGES);
+        assertThat(result.getLast().upperBound()).isEqualTo(9_999_999);
+    }
+}
@@ -0,0 +1,65 @@
+package com.gabrielrq.database_converter.util.dml;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import com.gabrielrq.database_converter.domain.TableDefinition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DmlProjectionTest {
+
+    private final TableDefinition table = new TableDefinition(
+            "users",
+            List.of(
+                    new ColumnDefinition("id", Types.INTEGER, "int4", "INTEGER", 10, 10, 0, false, false, null, 1),
+                    new ColumnDefinition("name", Types.VARCHAR, "varchar", "VARCHAR", 50, 50, 0, true, false, null, 2),
+                    new ColumnDefinition("geom", Types.OTHER, "geometry", "INVALID", 0, 0, 0, true, false, null, 3),
+                    new ColumnDefinition("email", Types.VARCHAR, "varchar", "VARCHAR", 80, 80, 0, true, false, null, 4)
+            ),
+            List.of("id"), List.of(), List.of(), null
+    );
+
+    @Test
+    @DisplayName("Deve alinhar valores à lista de colunas independentemente da ordem e da caixa das chaves da linha")
+    void shouldAlignValuesWithColumnHeader() {
+        // Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("EMAIL", "ana@x.com");
+        row.put("GEOM", "POINT(0 0)");
+        row.put("NAME", "Ana");
+        row.put("ID", 1);
+
+        // Act
+        DmlProjection projection = DmlProjection.compile(table, row.keySet(), column -> (value, out) -> out.append(value));
+        StringBuilder values = new StringBuilder();
+        projection.appendValues(row, values);
+
+        // Assert
+        assertThat(projection.columns()).isEqualTo("id,name,email");
+        assertThat(values.toString()).isEqualTo("1,Ana,ana@x.com");
+    }
+
+    @Test
+    @DisplayName("Deve omitir do comando as colunas ausentes do arquivo de dados")
+    void shouldSkipColumnsMissingFromSpill() {
+        // Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 7);
+        row.put("name", null);
+
+        // Act
+        DmlProjection projection = DmlProjection.compile(table, row.keySet(), column -> (value, out) -> out.append(value == null ? "NULL" : value));
+        StringBuilder values = new StringBuilder();
+        projection.appendValues(row, values);
+
+        // Assert
+        assertThat(projection.columnNames()).containsExactly("id", "name");
+        assertThat(values.toString()).isEqualTo("7,NULL");
+    }
+}
@@ -0,0 +1,68 @@
+package com.gabrielrq.database_converter.util.dml;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiRowInsertWriterTest {
+
+    private static List<String> write(String target, int rowsPerStatement, long maxStatementBytes, String... rows) throws IOException {
+        StringWriter out = new StringWriter();
+        try (MultiRowInsertWriter writer = new MultiRowInsertWriter(out, "users", "id,name", target, rowsPerStatement, maxStatementBytes)) {
+            for (String row : rows) {
+                writer.add(row);
+            }
+        }
+        return out.toString().lines().toList();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar linhas em INSERTs de várias tuplas no Postgres respeitando o limite de linhas")
+    void shouldGroupRowsIntoMultiRowValues() throws IOException {
+        // Act
+        List<String> lines = write("POSTGRES", 2, 65_536, "1,'Ana'", "2,'Bia'", "3,'Caio'");
+
+        // Assert
+        assertThat(lines).containsExactly(
+                "INSERT INTO users (id,name) VALUES",
+                "(1,'Ana'),",
+                "(2,'Bia');",
+                "INSERT INTO users (id,name) VALUES (3,'Caio');"
+        );
+    }
+
+    @Test
+    @DisplayName("Deve fechar o comando antes de ultrapassar o limite de bytes")
+    void shouldRespectStatementByteCeiling() throws IOException {
+        // Act
+        List<String> lines = write("POSTGRES", 100, 60, "1,'Ana'", "2,'Bia'", "3,'" + "x".repeat(100) + "'");
+
+        // Assert
+        assertThat(lines).containsExactly(
+                "INSERT INTO users (id,name) VALUES",
+                "(1,'Ana'),",
+                "(2,'Bia');",
+                "INSERT INTO users (id,name) VALUES (3,'" + "x".repeat(100) + "');"
+        );
+    }
+
+    @Test
+    @DisplayName("Deve agrupar INSERTs em EXECUTE BLOCK no Firebird")
+    void shouldWrapFirebirdRowsInExecuteBlock() throws IOException {
+        // Act
+        List<String> lines = write("FIREBIRD", 10, 65_536, "1,'Ana'", "2,'Bia'");
+
+        // Assert
+        assertThat(lines).containsExactly(
+                "EXECUTE BLOCK AS BEGIN",
+                "INSERT INTO users (id,name) VALUES (1,'Ana');",
+                "INSERT INTO users (id,name) VALUES (2,'Bia');",
+                "END;"
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package com.gabrielrq.database_converter.util.dml;
+
+import com.gabrielrq.database_converter.domain.ColumnDefinition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValueFormattersTest {
+
+    private static String format(int genericType, String target, Object value) {
+        ColumnDefinition column = new ColumnDefinition("c", genericType, "x", "X", 0, 0, 0, true, false, null, 1);
+        StringBuilder out = new StringBuilder();
+        ValueFormatters.forColumn(column, target).format(value, out);
+        return out.toString();
+    }
+
+    @Test
+    @DisplayName("Deve escapar aspas e remover caracteres de controle numa única passada")
+    void shouldEscapeTextInSinglePass() {
+        // Act
+        String result = format(Types.VARCHAR, "POSTGRES", "O'Neil\u0000 diz\t'oi'\u007F");
+
+        // Assert
+        assertThat(result).isEqualTo("'O''Neil diz''oi'''");
+    }
+
+    @Test
+    @DisplayName("Deve escrever números, booleanos e nulos sem aspas")
+    void shouldWriteLiteralsUnquoted() {
+        // Assert
+        assertThat(format(Types.NUMERIC, "POSTGRES", new BigDecimal("12.50"))).isEqualTo("12.50");
+        assertThat(format(Types.BOOLEAN, "FIREBIRD", true)).isEqualTo("true");
+        assertThat(format(Types.INTEGER, "POSTGRES", null)).isEqualTo("NULL");
+        assertThat(format(Types.INTEGER, "POSTGRES", "42")).isEqualTo("'42'");
+    }
+
+    @Test
+    @DisplayName("Deve converter instantes ISO para o formato de timestamp do Firebird só em colunas de timestamp")
+    void shouldFormatFirebirdTimestampsByColumnType() {
+        // Assert
+        assertThat(format(Types.TIMESTAMP, "FIREBIRD", "2024-01-01T10:00:00.123456Z")).isEqualTo("'2024-01-01 10:00:00.123'");
+        assertThat(format(Types.TIMESTAMP, "FIREBIRD", "2024-01-01T10:00:00Z")).isEqualTo("'2024-01-01 10:00:00'");
+        assertThat(format(Types.TIMESTAMP_WITH_TIMEZONE, "FIREBIRD", "2024-01-01T10:00:00+03:00")).isEqualTo("'2024-01-01 10:00:00'");
+        assertThat(format(Types.TIMESTAMP, "POSTGRES", "2024-01-01T10:00:00Z")).isEqualTo("'2024-01-01T10:00:00Z'");
+        assertThat(format(Types.VARCHAR, "FIREBIRD", "2024-01-01T10:00:00Z")).isEqualTo("'2024-01-01T10:00:00Z'");
+    }
+
+    @Test
+    @DisplayName("Deve gerar literal de blob para textos acima do limite do Firebird")
+    void shouldUseBlobLiteralForLargeFirebirdText() {
+        // Arrange
+        String text = "a".repeat(60_001);
+
+        // Act
+        String result = format(Types.LONGVARCHAR, "FIREBIRD", text);
+
+        // Assert
+        assertThat(result).startsWith("CAST(x'6161");
+        assertThat(format(Types.LONGVARCHAR, "POSTGRES", text)).hasSize(60_003);
+    }
+
+    @Test
+    @DisplayName("Deve gerar literais binários nativos a partir de bytes ou base64")
+    void shouldWriteNativeBinaryLiterals() {
+        // Arrange
+        byte[] bytes = {0x00, 0x1F, (byte) 0xAB, (byte) 0xFF};
+        String base64 = Base64.getEncoder().encodeToString(bytes);
+
+        // Assert
+        assertThat(format(Types.VARBINARY, "POSTGRES", bytes)).isEqualTo("'\\x001FABFF'");
+        assertThat(format(Types.BLOB, "POSTGRES", base64)).isEqualTo("'\\x001FABFF'");
+        assertThat(format(Types.BINARY, "FIREBIRD", base64)).isEqualTo("x'001FABFF'");
+        assertThat(format(Types.LONGVARBINARY, "FIREBIRD", bytes)).isEqualTo("x'001FABFF'");
+        assertThat(format(Types.VARBINARY, "POSTGRES", "não é base64")).isEqualTo("'não é base64'");
+    }
+
+    @Test
+    @DisplayName("Deve dividir binários grandes do Firebird em blobs concatenados")
+    void shouldChunkLargeFirebirdBinary() {
+        // Arrange
+        byte[] bytes = new byte[40_000];
+        new Random(7).nextBytes(bytes);
+
+        // Act
+        String result = format(Types.BLOB, "FIREBIRD", Base64.getEncoder().encodeToString(bytes));
+
+        // Assert
+        String[] chunks = result.split(" \\|\\| ");
+        assertThat(chunks).hasSize(3);
+        StringBuilder hex = new StringBuilder();
+        for (String chunk : chunks) {
+            assertThat(chunk).startsWith("CAST(x'").endsWith("' AS BLOB SUB_TYPE BINARY)");
+            hex.append(chunk, 7, chunk.length() - 26);
+        }
+        assertThat(HexFormat.of().parseHex(hex)).isEqualTo(bytes);
+    }
+}